@@ -0,0 +1,74 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * The kinds of {@link Iterable} benchmarks are parameterized by. Most helpers in
+ * Arrow take a fast path for {@link java.util.Collection} or {@link java.util.RandomAccess}
+ * inputs, so every benchmark should exercise both the fast and the slow path.
+ */
+public enum CollectionType {
+  ARRAY_LIST {
+    @Override
+    public <T> Iterable<T> create(List<T> elements) {
+      return new ArrayList<>(elements);
+    }
+  },
+
+  LINKED_LIST {
+    @Override
+    public <T> Iterable<T> create(List<T> elements) {
+      return new LinkedList<>(elements);
+    }
+  },
+
+  /**
+   * An {@link Iterable} which is not a {@link java.util.Collection}.
+   */
+  ITERABLE {
+    @Override
+    public <T> Iterable<T> create(List<T> elements) {
+      final List<T> copy = new ArrayList<>(elements);
+      return new Iterable<T>() {
+        @Override
+        public Iterator<T> iterator() {
+          return copy.iterator();
+        }
+      };
+    }
+  };
+
+  /**
+   * Returns a new {@link Iterable} of this type containing {@code elements}.
+   */
+  public abstract <T> Iterable<T> create(List<T> elements);
+
+  /**
+   * Returns the list {@code [0, 1, ..., size - 1]}.
+   */
+  public static List<Integer> range(int size) {
+    List<Integer> list = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      list.add(i);
+    }
+    return list;
+  }
+}
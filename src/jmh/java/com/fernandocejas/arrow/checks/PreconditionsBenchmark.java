@@ -0,0 +1,160 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.checks;
+
+import com.fernandocejas.arrow.collections.Iterables;
+import com.fernandocejas.arrow.functions.Supplier;
+import com.fernandocejas.arrow.strings.StringBuilders;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PreconditionsBenchmark {
+
+  private static final String TEMPLATE = "%s (%s) must be less than size (%s)";
+  private static final MessageTemplate COMPILED_TEMPLATE = MessageTemplate.compile(TEMPLATE);
+
+  private final String name = "index";
+  private int index = 12;
+  private int size = 10;
+  private final List<Integer> pending = Arrays.asList(1, 2, 3, 5, 8, 13, 21, 34);
+  private final Supplier<String> pendingMessage = new Supplier<String>() {
+    @Override
+    public String get() {
+      return "pending: " + Iterables.toString(pending);
+    }
+  };
+
+  /**
+   * What the fixed-arity overloads replace: a passing check through the varargs overload, which
+   * creates an array and boxes both arguments. Once the check is inlined, escape analysis removes
+   * both, so this pair runs without it, as when the caller is too large to inline the check or on
+   * runtimes without escape analysis such as Android's.
+   */
+  @Benchmark
+  @Fork(value = 1, jvmArgsAppend = "-XX:-DoEscapeAnalysis")
+  public int checkArgumentVarargs() {
+    Preconditions.checkArgument(index >= 0, "%s (%s) must not be negative",
+        new Object[] {name, index});
+    return index;
+  }
+
+  @Benchmark
+  @Fork(value = 1, jvmArgsAppend = "-XX:-DoEscapeAnalysis")
+  public int checkArgument() {
+    Preconditions.checkArgument(index >= 0, "%s (%s) must not be negative", name, index);
+    return index;
+  }
+
+  @Benchmark
+  public int checkStateLong() {
+    Preconditions.checkState(index >= 0, "%s (%s) must not be negative", name, (long) index);
+    return index;
+  }
+
+  /**
+   * What a supplied message replaces: a passing check whose message is built anyway.
+   */
+  @Benchmark
+  public int checkStateEagerMessage() {
+    Preconditions.checkState(index >= 0, "pending: " + Iterables.toString(pending));
+    return index;
+  }
+
+  @Benchmark
+  public int checkStateSuppliedMessage() {
+    Preconditions.checkState(index >= 0, pendingMessage);
+    return index;
+  }
+
+  @Benchmark
+  public String format() {
+    return Preconditions.format(TEMPLATE, name, index, size);
+  }
+
+  /**
+   * What the template cache of {@link Preconditions} replaces: compiling the template again for
+   * every message.
+   */
+  @Benchmark
+  public String formatCompilingEachTime() {
+    return MessageTemplate.compile(TEMPLATE).format(name, index, size);
+  }
+
+  @Benchmark
+  public String formatCompiled() {
+    return COMPILED_TEMPLATE.format(name, index, size);
+  }
+
+  /**
+   * What {@link StringBuilders} pooling replaces: {@link #format()} with a new builder per call.
+   */
+  @Benchmark
+  @Fork(value = 1, jvmArgsAppend = "-D" + StringBuilders.DISABLED_PROPERTY + "=true")
+  public String formatUnpooled() {
+    return format();
+  }
+
+  /**
+   * What the stackless exceptions replace: a failing check, caught by the caller as a request
+   * validator would, whose exception fills in its stack trace.
+   */
+  @Benchmark
+  public String checkArgumentFailing() {
+    try {
+      Preconditions.checkArgument(index < size, TEMPLATE, name, index, size);
+    } catch (IllegalArgumentException e) {
+      return e.getMessage();
+    }
+    throw new AssertionError();
+  }
+
+  @Benchmark
+  public String checkArgumentFailingStackless() {
+    try {
+      StacklessPreconditions.checkArgument(index < size, TEMPLATE, name, index, size);
+    } catch (IllegalArgumentException e) {
+      return e.getMessage();
+    }
+    throw new AssertionError();
+  }
+
+  @Benchmark
+  @Fork(value = 1, jvmArgsAppend = "-D" + Preconditions.STACKLESS_EXCEPTIONS_PROPERTY + "=true")
+  public String checkArgumentFailingStacklessGlobally() {
+    try {
+      Preconditions.checkArgument(index < size, TEMPLATE, name, index, size);
+    } catch (IllegalArgumentException e) {
+      return e.getMessage();
+    }
+    throw new AssertionError();
+  }
+}
@@ -0,0 +1,76 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.collections;
+
+import com.fernandocejas.arrow.CollectionType;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ListsBenchmark {
+
+  @Param({"10", "1000", "100000"})
+  int size;
+
+  /**
+   * {@link Lists} only accepts {@link List}s, so there is no plain {@link Iterable} case here.
+   */
+  @Param({"ARRAY_LIST", "LINKED_LIST"})
+  CollectionType type;
+
+  @Param({"16"})
+  int partitionSize;
+
+  private List<Integer> list;
+
+  @Setup
+  public void setUp() {
+    list = (List<Integer>) type.create(CollectionType.range(size));
+  }
+
+  @Benchmark
+  public void partition(Blackhole blackhole) {
+    for (List<Integer> partition : Lists.partition(list, partitionSize)) {
+      for (Integer element : partition) {
+        blackhole.consume(element);
+      }
+    }
+  }
+
+  @Benchmark
+  public void reverse(Blackhole blackhole) {
+    for (Integer element : Lists.reverse(list)) {
+      blackhole.consume(element);
+    }
+  }
+}
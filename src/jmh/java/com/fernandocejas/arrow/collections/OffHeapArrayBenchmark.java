@@ -0,0 +1,109 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.collections;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares reading an {@link OffHeapLongArray} with reading a {@code long[]} on the heap, both
+ * directly and through the {@link List} views the collection helpers work on.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class OffHeapArrayBenchmark {
+
+  @Param({"1000000"})
+  int size;
+
+  private long[] heapArray;
+  private LongArrayList heapList;
+  private OffHeapLongArray offHeapArray;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(size);
+    heapArray = new long[size];
+    offHeapArray = OffHeapLongArray.allocateDirect(size);
+    for (int i = 0; i < size; i++) {
+      heapArray[i] = random.nextLong();
+      offHeapArray.set(i, heapArray[i]);
+    }
+    heapList = Lists.newLongList(heapArray);
+  }
+
+  @TearDown
+  public void tearDown() {
+    offHeapArray.close();
+  }
+
+  /**
+   * What {@link OffHeapLongArray} replaces: the same ids in a heap array, which the garbage
+   * collector has to copy or scan.
+   */
+  @Benchmark
+  public long sumHeapArray() {
+    long sum = 0;
+    for (long value : heapArray) {
+      sum += value;
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long sumOffHeapArray() {
+    long sum = 0;
+    for (long i = 0; i < offHeapArray.length(); i++) {
+      sum += offHeapArray.get(i);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long sumHeapListReversed() {
+    return sum(Lists.reverse(heapList.asList()));
+  }
+
+  @Benchmark
+  public long sumOffHeapListReversed() {
+    return sum(Lists.reverse(offHeapArray.asList()));
+  }
+
+  private static long sum(List<Long> list) {
+    long sum = 0;
+    for (int i = 0; i < list.size(); i++) {
+      sum += list.get(i);
+    }
+    return sum;
+  }
+}
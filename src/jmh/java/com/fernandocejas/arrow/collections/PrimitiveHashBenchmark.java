@@ -0,0 +1,156 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.collections;
+
+import com.fernandocejas.arrow.functions.LongPredicate;
+import com.fernandocejas.arrow.functions.Predicate;
+import com.fernandocejas.arrow.functions.Predicates;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link LongHashSet} and {@link LongObjectHashMap} with the boxed {@code HashSet<Long>}
+ * and {@code HashMap<Long, V>} as lookup tables of random ids, probed with as many ids that are
+ * members as ids that are not. Run with {@code -prof gc}: {@code gc.alloc.rate.norm} of the {@code
+ * new*} benchmarks is the memory taken by each set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PrimitiveHashBenchmark {
+
+  private static final int PROBES = 1024;
+
+  @Param({"1000", "1000000"})
+  int size;
+
+  private long[] ids;
+  private long[] probes;
+  private Predicate<Long> inHashSet;
+  private LongPredicate inLongHashSet;
+  private Map<Long, String> hashMap;
+  private LongObjectHashMap<String> longObjectHashMap;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(size);
+    ids = new long[size];
+    for (int i = 0; i < size; i++) {
+      ids[i] = random.nextLong();
+    }
+    probes = new long[PROBES];
+    for (int i = 0; i < PROBES; i++) {
+      probes[i] = i % 2 == 0 ? ids[random.nextInt(size)] : random.nextLong();
+    }
+    inHashSet = Predicates.in(newHashSet());
+    inLongHashSet = Predicates.in(newLongHashSet());
+    hashMap = new HashMap<>();
+    longObjectHashMap = new LongObjectHashMap<>();
+    for (long id : ids) {
+      String value = Long.toHexString(id);
+      hashMap.put(id, value);
+      longObjectHashMap.put(id, value);
+    }
+  }
+
+  /**
+   * What {@link LongHashSet} replaces: a {@link Long} and a map entry for every id.
+   */
+  @Benchmark
+  public Set<Long> newHashSet() {
+    Set<Long> set = new HashSet<>();
+    for (long id : ids) {
+      set.add(id);
+    }
+    return set;
+  }
+
+  @Benchmark
+  public LongHashSet newLongHashSet() {
+    LongHashSet set = new LongHashSet();
+    set.addAll(ids);
+    return set;
+  }
+
+  /**
+   * What {@link Predicates#in(LongHashSet)} replaces: boxing every probe, then following the
+   * entry and the key of each bucket it visits.
+   */
+  @Benchmark
+  public int inHashSet() {
+    int count = 0;
+    for (long probe : probes) {
+      if (inHashSet.apply(probe)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  @Benchmark
+  public int inLongHashSet() {
+    int count = 0;
+    for (long probe : probes) {
+      if (inLongHashSet.apply(probe)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * What {@link LongObjectHashMap} replaces.
+   */
+  @Benchmark
+  public int getHashMap() {
+    int count = 0;
+    for (long probe : probes) {
+      if (hashMap.get(probe) != null) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  @Benchmark
+  public int getLongObjectHashMap() {
+    int count = 0;
+    for (long probe : probes) {
+      if (longObjectHashMap.get(probe) != null) {
+        count++;
+      }
+    }
+    return count;
+  }
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.collections;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link IntArrayList} with the boxed {@code ArrayList<Integer>} built by {@link
+ * Lists#newArrayList(int[])}. Run with {@code -prof gc}: {@code gc.alloc.rate.norm} of the {@code
+ * new*} benchmarks is the memory taken by each list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PrimitiveListsBenchmark {
+
+  @Param({"1000", "1000000"})
+  int size;
+
+  private int[] ids;
+  private List<Integer> boxedList;
+  private IntArrayList intList;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(size);
+    ids = new int[size];
+    for (int i = 0; i < size; i++) {
+      ids[i] = random.nextInt();
+    }
+    boxedList = Lists.newArrayList(ids);
+    intList = Lists.newIntList(ids);
+  }
+
+  /**
+   * What {@link Lists#newIntList(int...)} replaces: boxing every id into its own {@link Integer}.
+   */
+  @Benchmark
+  public List<Integer> newArrayList() {
+    return Lists.newArrayList(ids);
+  }
+
+  @Benchmark
+  public IntArrayList newIntList() {
+    return Lists.newIntList(ids);
+  }
+
+  /**
+   * What iterating an {@link IntArrayList} replaces: unboxing each element, which lives wherever
+   * its {@link Integer} was allocated rather than next to its neighbours.
+   */
+  @Benchmark
+  public long sumArrayList() {
+    long sum = 0;
+    for (int i = 0; i < boxedList.size(); i++) {
+      sum += boxedList.get(i);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long sumIntList() {
+    long sum = 0;
+    for (int i = 0; i < intList.size(); i++) {
+      sum += intList.get(i);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public long sumIntListView() {
+    long sum = 0;
+    List<Integer> view = intList.asList();
+    for (int i = 0; i < view.size(); i++) {
+      sum += view.get(i);
+    }
+    return sum;
+  }
+}
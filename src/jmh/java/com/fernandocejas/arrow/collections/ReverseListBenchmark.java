@@ -0,0 +1,101 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.collections;
+
+import com.fernandocejas.arrow.CollectionType;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Indexed loops over a reversed {@link java.util.ArrayList}, whose every {@code get} goes through
+ * {@link com.fernandocejas.arrow.checks.Preconditions#checkElementIndex(int, int)} before the
+ * bounds check of the list itself. When both are hoisted out of the loop, reading the reversed
+ * list costs the same as computing the reversed indexes by hand.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ReverseListBenchmark {
+
+  @Param({"1000", "100000"})
+  int size;
+
+  private List<Integer> list;
+  private List<Integer> reversed;
+  private List<List<Integer>> partitioned;
+
+  @Setup
+  public void setUp() {
+    list = (List<Integer>) CollectionType.ARRAY_LIST.create(CollectionType.range(size));
+    reversed = Lists.reverse(list);
+    partitioned = Lists.partition(list, 1);
+  }
+
+  /**
+   * The loop without any check of this library: the reversed index computed by hand.
+   */
+  @Benchmark
+  public int getReversedByHand() {
+    int sum = 0;
+    int last = list.size() - 1;
+    for (int i = 0; i <= last; i++) {
+      sum += list.get(last - i);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public int getReversed() {
+    int sum = 0;
+    for (int i = 0; i < reversed.size(); i++) {
+      sum += reversed.get(i);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public int getPartitioned() {
+    int sum = 0;
+    for (int i = 0; i < partitioned.size(); i++) {
+      sum += partitioned.get(i).size();
+    }
+    return sum;
+  }
+
+  /**
+   * {@link #getReversed()} run with range check elimination disabled, to show what the checks
+   * cost when they are not hoisted.
+   */
+  @Benchmark
+  @Fork(value = 1, jvmArgsAppend = "-XX:-RangeCheckElimination")
+  public int getReversedWithoutRangeCheckElimination() {
+    return getReversed();
+  }
+}
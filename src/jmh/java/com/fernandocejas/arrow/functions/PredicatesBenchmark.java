@@ -0,0 +1,108 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.functions;
+
+import com.fernandocejas.arrow.CollectionType;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PredicatesBenchmark {
+
+  private static final Predicate<Integer> IS_EVEN = new Predicate<Integer>() {
+    @Override
+    public boolean apply(Integer input) {
+      return (input & 1) == 0;
+    }
+  };
+
+  private static final Predicate<Integer> IS_POSITIVE = new Predicate<Integer>() {
+    @Override
+    public boolean apply(Integer input) {
+      return input > 0;
+    }
+  };
+
+  @Param({"10", "1000", "100000"})
+  int size;
+
+  @Param({"ARRAY_LIST", "LINKED_LIST", "ITERABLE"})
+  CollectionType type;
+
+  private Iterable<Integer> elements;
+  private Predicate<Integer> and;
+  private Predicate<Integer> or;
+  private Predicate<Integer> inHashSet;
+  private Predicate<Integer> inList;
+
+  @Setup
+  public void setUp() {
+    List<Integer> range = CollectionType.range(size);
+    elements = type.create(range);
+    and = Predicates.and(IS_POSITIVE, IS_EVEN, Predicates.<Integer>notNull());
+    or = Predicates.or(Predicates.<Integer>isNull(), IS_EVEN, IS_POSITIVE);
+    List<Integer> half = range.subList(0, size / 2);
+    inHashSet = Predicates.in(new HashSet<>(half));
+    inList = Predicates.in(half);
+  }
+
+  @Benchmark
+  public int and() {
+    return count(and);
+  }
+
+  @Benchmark
+  public int or() {
+    return count(or);
+  }
+
+  @Benchmark
+  public int inHashSet() {
+    return count(inHashSet);
+  }
+
+  @Benchmark
+  public int inList() {
+    return count(inList);
+  }
+
+  private int count(Predicate<Integer> predicate) {
+    int count = 0;
+    for (Integer element : elements) {
+      if (predicate.apply(element)) {
+        count++;
+      }
+    }
+    return count;
+  }
+}
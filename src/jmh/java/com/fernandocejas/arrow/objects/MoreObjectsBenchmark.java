@@ -0,0 +1,73 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.objects;
+
+import com.fernandocejas.arrow.strings.StringBuilders;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MoreObjectsBenchmark {
+
+  private final String name = "arrow";
+  private final int version = 1;
+  private final long size = 1024L;
+  private final Object nothing = null;
+
+  @Benchmark
+  public String toStringHelper() {
+    return MoreObjects.toStringHelper(this)
+        .add("name", name)
+        .add("version", version)
+        .add("size", size)
+        .add("nothing", nothing)
+        .toString();
+  }
+
+  /**
+   * What {@link StringBuilders} pooling replaces: {@link #toStringHelper()} with a new builder
+   * per call.
+   */
+  @Benchmark
+  @Fork(value = 1, jvmArgsAppend = "-D" + StringBuilders.DISABLED_PROPERTY + "=true")
+  public String toStringHelperUnpooled() {
+    return toStringHelper();
+  }
+
+  @Benchmark
+  public String toStringHelperOmitNullValues() {
+    return MoreObjects.toStringHelper(this)
+        .omitNullValues()
+        .add("name", name)
+        .add("version", version)
+        .add("size", size)
+        .add("nothing", nothing)
+        .toString();
+  }
+}
@@ -0,0 +1,83 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.strings;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Normalizes and compares HTTP header names, which are usually sent lowercase already.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AsciiBenchmark {
+
+  private String lowerCase = "content-type";
+  private String mixedCase = "Content-Type";
+  private StringBuilder builder = new StringBuilder("CONTENT-TYPE");
+
+  /**
+   * What {@link Ascii#toLowerCase(String)} replaces.
+   */
+  @Benchmark
+  public String stringToLowerCase() {
+    return lowerCase.toLowerCase(Locale.ROOT);
+  }
+
+  @Benchmark
+  public String toLowerCase() {
+    return Ascii.toLowerCase(lowerCase);
+  }
+
+  /**
+   * What {@link Ascii#equalsIgnoreCase} replaces.
+   */
+  @Benchmark
+  public boolean stringEqualsIgnoreCase() {
+    return mixedCase.equalsIgnoreCase(builder.toString());
+  }
+
+  @Benchmark
+  public boolean equalsIgnoreCase() {
+    return Ascii.equalsIgnoreCase(mixedCase, builder);
+  }
+
+  /**
+   * What {@link Ascii#hashCodeIgnoreCase} replaces.
+   */
+  @Benchmark
+  public int stringHashCodeIgnoreCase() {
+    return builder.toString().toLowerCase(Locale.ROOT).hashCode();
+  }
+
+  @Benchmark
+  public int hashCodeIgnoreCase() {
+    return Ascii.hashCodeIgnoreCase(builder);
+  }
+}
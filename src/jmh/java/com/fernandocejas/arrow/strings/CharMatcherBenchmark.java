@@ -0,0 +1,113 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.strings;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CharMatcherBenchmark {
+
+  private static final CharMatcher ID_CHARACTERS =
+      CharMatcher.inRange('a', 'z').or(CharMatcher.digit()).or(CharMatcher.anyOf("-_"));
+  private static final Pattern WHITESPACE_RUNS = Pattern.compile("\\s+");
+
+  @Param({"16", "1024"})
+  int size;
+
+  private String blank;
+  private String text;
+
+  @Setup
+  public void setUp() {
+    StringBuilder blankBuilder = new StringBuilder(size);
+    StringBuilder textBuilder = new StringBuilder(size);
+    for (int i = 0; i < size; i++) {
+      blankBuilder.append(i % 8 == 0 ? '\t' : ' ');
+      textBuilder.append(i % 6 == 0 ? ' ' : (char) ('a' + i % 26));
+    }
+    blank = blankBuilder.toString();
+    text = textBuilder.toString();
+  }
+
+  @Benchmark
+  public boolean isBlank() {
+    return Strings.isBlank(blank);
+  }
+
+  /**
+   * The {@link String#trim()} based implementation {@link Strings#isBlank(CharSequence)} used to
+   * have, kept as a baseline: it treats the same characters as blank, but copies padded input.
+   */
+  @Benchmark
+  public boolean isBlankTrim() {
+    return Strings.isNullOrEmpty(blank.trim());
+  }
+
+  @Benchmark
+  public int countIn() {
+    return ID_CHARACTERS.countIn(text);
+  }
+
+  /**
+   * Tests the same characters as {@link #countIn()} one {@link Character} predicate at a time.
+   */
+  @Benchmark
+  public int countInCharacterMethods() {
+    int count = 0;
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if ((c >= 'a' && c <= 'z') || Character.isDigit(c) || c == '-' || c == '_') {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  @Benchmark
+  public String collapseFrom() {
+    return CharMatcher.whitespace().collapseFrom(text, '_');
+  }
+
+  @Benchmark
+  public String collapseFromRegex() {
+    return WHITESPACE_RUNS.matcher(text).replaceAll("_");
+  }
+
+  /**
+   * Nothing to trim: returns the input without allocating.
+   */
+  @Benchmark
+  public String trimFromUnchanged() {
+    return ID_CHARACTERS.negate().trimFrom(text);
+  }
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.strings;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CharsetsBenchmark {
+
+  @Param({"32", "1024"})
+  int size;
+
+  @Param({"UTF-8", "ISO-8859-1", "UTF-16"})
+  String charsetName;
+
+  private Charset charset;
+  private String text;
+  private byte[] bytes;
+  private ByteBuffer encoded;
+  private ByteBuffer directBuffer;
+  private CharBuffer charBuffer;
+
+  @Setup
+  public void setUp() {
+    charset = Charset.forName(charsetName);
+    StringBuilder builder = new StringBuilder(size);
+    for (int i = 0; i < size; i++) {
+      // mostly ASCII, with some Latin-1 characters
+      builder.append(i % 16 == 0 ? '\u00e9' : (char) ('a' + i % 26)); // e with an acute accent
+    }
+    text = builder.toString();
+    bytes = text.getBytes(charset);
+    encoded = ByteBuffer.allocateDirect(bytes.length);
+    encoded.put(bytes).flip();
+    directBuffer = ByteBuffer.allocateDirect(size * 4);
+    charBuffer = CharBuffer.allocate(size);
+  }
+
+  @Benchmark
+  public int encodeTo() {
+    directBuffer.clear();
+    return Charsets.encodeTo(text, charset, directBuffer);
+  }
+
+  /**
+   * What {@link #encodeTo()} replaces: encoding to an intermediate {@code byte[]} and copying it.
+   */
+  @Benchmark
+  public ByteBuffer getBytesThenPut() {
+    directBuffer.clear();
+    return directBuffer.put(text.getBytes(charset));
+  }
+
+  @Benchmark
+  public int decodeFrom() {
+    encoded.rewind();
+    charBuffer.clear();
+    return Charsets.decodeFrom(encoded, charset, charBuffer);
+  }
+
+  /**
+   * What {@link #decodeFrom()} replaces: copying to an intermediate {@code byte[]} and decoding it
+   * into a {@link String}.
+   */
+  @Benchmark
+  public CharBuffer getThenNewString() {
+    encoded.rewind();
+    charBuffer.clear();
+    byte[] copy = new byte[encoded.remaining()];
+    encoded.get(copy);
+    return charBuffer.put(new String(copy, charset));
+  }
+}
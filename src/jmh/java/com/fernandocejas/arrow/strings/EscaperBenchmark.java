@@ -0,0 +1,101 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.strings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EscaperBenchmark {
+
+  private static final Joiner JOINER = Strings.joinOn(", ");
+
+  /**
+   * The share of fields containing a character to escape, in percent.
+   */
+  @Param({"0", "10"})
+  int dirty;
+
+  private final List<String> fields = new ArrayList<>();
+  private final StringBuilder builder = new StringBuilder();
+
+  @Setup
+  public void setUp() {
+    for (int i = 0; i < 1000; i++) {
+      fields.add(i % 100 < dirty ? "<field & value " + i + ">" : "field value " + i);
+    }
+  }
+
+  /**
+   * What {@link Escaper#escape(String)} replaces.
+   */
+  @Benchmark
+  public int replaceChain() {
+    int length = 0;
+    for (String field : fields) {
+      length += field.replace("&", "&amp;")
+          .replace("<", "&lt;")
+          .replace(">", "&gt;")
+          .replace("\"", "&quot;")
+          .replace("'", "&#39;")
+          .length();
+    }
+    return length;
+  }
+
+  @Benchmark
+  public int escape() {
+    Escaper escaper = Escapers.htmlEscaper();
+    int length = 0;
+    for (String field : fields) {
+      length += escaper.escape(field).length();
+    }
+    return length;
+  }
+
+  /**
+   * What {@link Escaper#escapeTo(CharSequence, StringBuilder)} over a lazily joined sequence
+   * replaces.
+   */
+  @Benchmark
+  public StringBuilder joinThenEscape() {
+    builder.setLength(0);
+    return builder.append(Escapers.htmlEscaper().escape(JOINER.join(fields)));
+  }
+
+  @Benchmark
+  public StringBuilder escapeJoinedLazily() {
+    builder.setLength(0);
+    return Escapers.htmlEscaper().escapeTo(JOINER.joinLazily(fields), builder);
+  }
+}
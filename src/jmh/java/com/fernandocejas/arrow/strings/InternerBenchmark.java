@@ -0,0 +1,109 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.strings;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Interns the tokens of a comma separated input drawn from a small vocabulary, as when reading
+ * the tag or header names of a large file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class InternerBenchmark {
+
+  private static final Splitter COMMA_SPLITTER = Strings.splitOn(',');
+
+  @Param({"10", "1000"})
+  int vocabulary;
+
+  private String input;
+  private StringInterner strongInterner;
+  private StringInterner weakInterner;
+  private ConcurrentMap<String, String> map;
+
+  @Setup
+  public void setUp() {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 10000; i++) {
+      builder.append(i == 0 ? "" : ",").append("token-").append(i % vocabulary);
+    }
+    input = builder.toString();
+    strongInterner = Interners.newStrongInterner();
+    weakInterner = Interners.newWeakInterner();
+    map = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * What interning replaces: a map from each string to its canonical instance.
+   */
+  @Benchmark
+  public void concurrentMap(Blackhole blackhole) {
+    for (String part : COMMA_SPLITTER.split(input)) {
+      String canonical = map.putIfAbsent(part, part);
+      blackhole.consume(canonical == null ? part : canonical);
+    }
+  }
+
+  /**
+   * What interning replaces: the JVM string pool.
+   */
+  @Benchmark
+  public void stringIntern(Blackhole blackhole) {
+    for (String part : COMMA_SPLITTER.split(input)) {
+      blackhole.consume(part.intern());
+    }
+  }
+
+  @Benchmark
+  public void strongIntern(Blackhole blackhole) {
+    for (String part : COMMA_SPLITTER.split(input)) {
+      blackhole.consume(strongInterner.intern(part));
+    }
+  }
+
+  @Benchmark
+  public void strongInternViews(Blackhole blackhole) {
+    for (CharSequence part : COMMA_SPLITTER.splitToViews(input)) {
+      blackhole.consume(strongInterner.intern(part));
+    }
+  }
+
+  @Benchmark
+  public void weakInternViews(Blackhole blackhole) {
+    for (CharSequence part : COMMA_SPLITTER.splitToViews(input)) {
+      blackhole.consume(weakInterner.intern(part));
+    }
+  }
+}
@@ -0,0 +1,169 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.strings;
+
+import com.fernandocejas.arrow.CollectionType;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JoinerBenchmark {
+
+  private static final Joiner JOINER = Strings.joinOn(", ");
+  private static final Joiner LINE_JOINER = Strings.joinOn(' ');
+
+  @Param({"10", "1000", "100000"})
+  int size;
+
+  @Param({"ARRAY_LIST", "LINKED_LIST", "ITERABLE"})
+  CollectionType type;
+
+  private Iterable<Integer> numbers;
+  private Iterable<String> strings;
+  private final CountingOutputStream out = new CountingOutputStream();
+  private final StringBuilder line = new StringBuilder();
+  private ForkJoinPool pool;
+  private Joiner parallelJoiner;
+
+  @Setup
+  public void setUp() {
+    List<Integer> range = CollectionType.range(size);
+    List<String> ids = new ArrayList<>(size);
+    for (Integer i : range) {
+      ids.add("id-" + i);
+    }
+    numbers = type.create(range);
+    strings = type.create(ids);
+    pool = new ForkJoinPool();
+    parallelJoiner = JOINER.parallel(pool);
+  }
+
+  @TearDown
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Benchmark
+  public String joinStrings() {
+    return JOINER.join(strings);
+  }
+
+  @Benchmark
+  public String joinNumbers() {
+    return JOINER.join(numbers);
+  }
+
+  /**
+   * What {@link StringBuilders} pooling replaces: {@link #joinStrings()} with a new builder per
+   * call.
+   */
+  @Benchmark
+  @Fork(value = 1, jvmArgsAppend = "-D" + StringBuilders.DISABLED_PROPERTY + "=true")
+  public String joinStringsUnpooled() {
+    return JOINER.join(strings);
+  }
+
+  /**
+   * Joins into a default sized, growing {@link StringBuilder}: what {@link Joiner#join(Iterable)}
+   * does for inputs which are not a {@link java.util.Collection}.
+   */
+  @Benchmark
+  public String joinStringsGrowing() {
+    return JOINER.appendTo(new StringBuilder(), strings).toString();
+  }
+
+  @Benchmark
+  public String joinNumbersGrowing() {
+    return JOINER.appendTo(new StringBuilder(), numbers).toString();
+  }
+
+  @Benchmark
+  public String joinStringsParallel() {
+    return parallelJoiner.join(strings);
+  }
+
+  @Benchmark
+  public String joinNumbersParallel() {
+    return parallelJoiner.join(numbers);
+  }
+
+  /**
+   * Joins and passes the result on to another {@link Appendable}, here a reused {@link
+   * StringBuilder}.
+   */
+  @Benchmark
+  public int joinThenAppend() {
+    line.setLength(0);
+    return LINE_JOINER.appendTo(line, "ids:", JOINER.join(strings)).length();
+  }
+
+  @Benchmark
+  public int joinLazilyThenAppend() {
+    line.setLength(0);
+    return LINE_JOINER.appendTo(line, "ids:", JOINER.joinLazily(strings)).length();
+  }
+
+  @Benchmark
+  public long writeToUtf8() throws IOException {
+    JOINER.writeTo(out, Charsets.UTF_8, strings);
+    return out.count;
+  }
+
+  /**
+   * Joins to a {@link String} and encodes it to a {@code byte[]}: what {@link
+   * Joiner#writeTo(OutputStream, java.nio.charset.Charset, Iterable)} replaces.
+   */
+  @Benchmark
+  public long joinThenGetBytesUtf8() throws IOException {
+    out.write(JOINER.join(strings).getBytes(Charsets.UTF_8));
+    return out.count;
+  }
+
+  private static final class CountingOutputStream extends OutputStream {
+    long count;
+
+    @Override
+    public void write(int b) {
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      count += len;
+    }
+  }
+}
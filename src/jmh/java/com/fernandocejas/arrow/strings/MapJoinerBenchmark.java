@@ -0,0 +1,77 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.strings;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MapJoinerBenchmark {
+
+  private static final Joiner.MapJoiner MAP_JOINER =
+      Strings.joinOn('&').withKeyValueSeparator("=");
+
+  @Param({"10", "1000", "100000"})
+  int size;
+
+  private Map<String, String> parameters;
+
+  @Setup
+  public void setUp() {
+    parameters = new LinkedHashMap<>(size * 2);
+    for (int i = 0; i < size; i++) {
+      parameters.put("key-" + i, "value-" + i);
+    }
+  }
+
+  @Benchmark
+  public String join() {
+    return MAP_JOINER.join(parameters);
+  }
+
+  /**
+   * Builds a {@code key=value} string per entry and joins those: what {@link Joiner.MapJoiner}
+   * replaces.
+   */
+  @Benchmark
+  public String concatenateEntries() {
+    StringBuilder builder = new StringBuilder();
+    for (Map.Entry<String, String> entry : parameters.entrySet()) {
+      if (builder.length() > 0) {
+        builder.append('&');
+      }
+      builder.append(entry.getKey() + "=" + entry.getValue());
+    }
+    return builder.toString();
+  }
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.strings;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SplitterBenchmark {
+
+  private static final Splitter COMMA_SPLITTER = Strings.splitOn(',');
+  private static final Splitter TRIMMING_SPLITTER =
+      Strings.splitOn(", ").trimResults().omitEmptyStrings();
+
+  @Param({"10", "1000", "100000"})
+  int size;
+
+  private String input;
+
+  @Setup
+  public void setUp() {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < size; i++) {
+      builder.append(i == 0 ? "" : ",").append("id-").append(i);
+    }
+    input = builder.toString();
+  }
+
+  @Benchmark
+  public void stringSplit(Blackhole blackhole) {
+    for (String part : input.split(",")) {
+      blackhole.consume(part);
+    }
+  }
+
+  @Benchmark
+  public void split(Blackhole blackhole) {
+    for (String part : COMMA_SPLITTER.split(input)) {
+      blackhole.consume(part);
+    }
+  }
+
+  @Benchmark
+  public void splitToViews(Blackhole blackhole) {
+    for (CharSequence part : COMMA_SPLITTER.splitToViews(input)) {
+      blackhole.consume(part);
+    }
+  }
+
+  @Benchmark
+  public void splitTrimmed(Blackhole blackhole) {
+    for (String part : TRIMMING_SPLITTER.split(input)) {
+      blackhole.consume(part);
+    }
+  }
+}
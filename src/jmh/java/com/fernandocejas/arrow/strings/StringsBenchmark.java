@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.strings;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StringsBenchmark {
+
+  /**
+   * 16 and 32 bytes are the sizes of MD5 and SHA-256 digests.
+   */
+  @Param({"16", "32", "1024"})
+  int size;
+
+  private byte[] bytes;
+  private ByteBuffer directBuffer;
+  private String hex;
+  private StringBuilder builder;
+
+  @Setup
+  public void setUp() {
+    bytes = new byte[size];
+    new Random(0).nextBytes(bytes);
+    directBuffer = ByteBuffer.allocateDirect(size);
+    directBuffer.put(bytes).flip();
+    hex = Strings.toHexString(bytes);
+    builder = new StringBuilder(size << 1);
+  }
+
+  @Benchmark
+  public String toHexString() {
+    return Strings.toHexString(bytes);
+  }
+
+  /**
+   * The {@code BigInteger} based implementation {@link Strings#toHexString(byte[])} used before
+   * {@link Hex}, kept as a baseline.
+   */
+  @Benchmark
+  public String toHexStringBigInteger() {
+    return String.format(Locale.US, "%0" + (bytes.length << 1) + "x", new BigInteger(1, bytes));
+  }
+
+  @Benchmark
+  public String encodeDirectBuffer() {
+    return Hex.lowerCase().encode(directBuffer);
+  }
+
+  @Benchmark
+  public StringBuilder appendTo() {
+    builder.setLength(0);
+    return Hex.lowerCase().appendTo(builder, bytes);
+  }
+
+  @Benchmark
+  public byte[] fromHexString() {
+    return Strings.fromHexString(hex);
+  }
+}
@@ -0,0 +1,94 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.strings;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class Utf8Benchmark {
+
+  @Param({"32", "1024"})
+  int size;
+
+  /**
+   * Every how many characters a non-ASCII one is inserted; 0 for pure ASCII.
+   */
+  @Param({"0", "16"})
+  int nonAsciiEvery;
+
+  private String text;
+  private byte[] encoded;
+  private byte[] bytes;
+  private ByteBuffer directBuffer;
+
+  @Setup
+  public void setUp() {
+    StringBuilder builder = new StringBuilder(size);
+    for (int i = 0; i < size; i++) {
+      boolean nonAscii = nonAsciiEvery > 0 && i % nonAsciiEvery == 0;
+      builder.append(nonAscii ? '\u20ac' : (char) ('a' + i % 26)); // the euro sign
+    }
+    text = builder.toString();
+    encoded = text.getBytes(Charsets.UTF_8);
+    bytes = new byte[size * 3];
+    directBuffer = ByteBuffer.allocateDirect(size * 3);
+  }
+
+  @Benchmark
+  public int encodedLength() {
+    return Utf8.encodedLength(text);
+  }
+
+  /**
+   * What {@link #encodedLength()} replaces.
+   */
+  @Benchmark
+  public int getBytesLength() {
+    return text.getBytes(Charsets.UTF_8).length;
+  }
+
+  @Benchmark
+  public int encodeToArray() {
+    return Utf8.encode(text, bytes, 0);
+  }
+
+  @Benchmark
+  public int encodeToDirectBuffer() {
+    return Utf8.encode(text, directBuffer, 0);
+  }
+
+  @Benchmark
+  public boolean isWellFormed() {
+    return Utf8.isWellFormed(encoded);
+  }
+}
@@ -0,0 +1,140 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.checks;
+
+import com.fernandocejas.arrow.strings.StringBuilders;
+import java.util.ArrayList;
+import java.util.List;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A message template of the form used by {@link Preconditions}, split once into the literal
+ * segments around its {@code %s} placeholders, so formatting a message neither searches the
+ * template again nor copies its segments into temporary strings:
+ * <pre>   {@code
+ *
+ *   private static final MessageTemplate OUT_OF_RANGE =
+ *       MessageTemplate.compile("%s (%s) must be less than size (%s)");
+ *
+ *   throw new IndexOutOfBoundsException(OUT_OF_RANGE.format(desc, index, size));}</pre>
+ *
+ * <p>The templates given to {@link Preconditions} are compiled on demand and kept in a small
+ * cache, so constant templates are only compiled once.
+ *
+ * <p>Instances are immutable and safe to share between threads.
+ */
+public final class MessageTemplate {
+
+  private static final String PLACEHOLDER = "%s";
+
+  private final String template;
+  // the text before the first placeholder, between each two of them and after the last one
+  private final String[] literals;
+  private final int literalsLength;
+
+  private MessageTemplate(String template, String[] literals, int literalsLength) {
+    this.template = template;
+    this.literals = literals;
+    this.literalsLength = literalsLength;
+  }
+
+  /**
+   * Returns {@code template}, which contains 0 or more {@code %s} placeholders, compiled.
+   * Only the {@code "%s"} specifier is supported, not the full range of {@link
+   * java.util.Formatter} specifiers.
+   *
+   * @param template the template to compile; null is treated as {@code "null"}
+   */
+  public static MessageTemplate compile(@Nullable String template) {
+    String normTemplate = String.valueOf(template); // null -> "null"
+    List<String> literals = new ArrayList<>();
+    int literalStart = 0;
+    int placeholderStart = normTemplate.indexOf(PLACEHOLDER);
+    while (placeholderStart != -1) {
+      literals.add(normTemplate.substring(literalStart, placeholderStart));
+      literalStart = placeholderStart + PLACEHOLDER.length();
+      placeholderStart = normTemplate.indexOf(PLACEHOLDER, literalStart);
+    }
+    literals.add(normTemplate.substring(literalStart));
+    int literalsLength = normTemplate.length() - PLACEHOLDER.length() * (literals.size() - 1);
+    return new MessageTemplate(normTemplate, literals.toArray(new String[literals.size()]),
+        literalsLength);
+  }
+
+  /**
+   * Returns the number of {@code %s} placeholders of this template.
+   */
+  public int placeholderCount() {
+    return literals.length - 1;
+  }
+
+  /**
+   * Substitutes each {@code %s} in this template with an argument. These are matched by position:
+   * the first {@code %s} gets {@code args[0]}, etc. If there are more arguments than placeholders,
+   * the unmatched arguments will be appended to the end of the formatted message in square braces.
+   * Unmatched placeholders will be left as-is.
+   *
+   * <p>The arguments are converted first, so the message is built in a buffer of its exact
+   * length.
+   *
+   * @param args the arguments to be substituted into the message template. Arguments are converted
+   * to strings using {@link String#valueOf(Object)}. Arguments can be null.
+   */
+  public String format(@Nullable Object... args) {
+    if (args == null) {
+      args = new Object[] {"(Object[])null"};
+    }
+    int placeholders = literals.length - 1;
+    String[] texts = new String[args.length];
+    long length = literalsLength;
+    for (int i = 0; i < args.length; i++) {
+      texts[i] = String.valueOf(args[i]);
+      length += texts[i].length();
+    }
+    if (args.length < placeholders) {
+      length += (long) PLACEHOLDER.length() * (placeholders - args.length);
+    } else if (args.length > placeholders) {
+      // " [" and "]" around the unmatched arguments, ", " between each two of them
+      length += 3 + 2L * (args.length - placeholders - 1);
+    }
+    if (length > Integer.MAX_VALUE) {
+      throw new OutOfMemoryError("message length " + length + " exceeds the maximum String length");
+    }
+
+    StringBuilder builder = StringBuilders.acquire((int) length);
+    builder.append(literals[0]);
+    for (int i = 0; i < placeholders; i++) {
+      builder.append(i < texts.length ? texts[i] : PLACEHOLDER).append(literals[i + 1]);
+    }
+    // if we run out of placeholders, append the extra args in square braces
+    if (texts.length > placeholders) {
+      builder.append(" [").append(texts[placeholders]);
+      for (int i = placeholders + 1; i < texts.length; i++) {
+        builder.append(", ").append(texts[i]);
+      }
+      builder.append(']');
+    }
+    return StringBuilders.release(builder);
+  }
+
+  /**
+   * Returns the template this instance was compiled from.
+   */
+  @Override
+  public String toString() {
+    return template;
+  }
+}
@@ -13,6 +13,7 @@
  */
 package com.fernandocejas.arrow.checks;
 
+import com.fernandocejas.arrow.functions.Supplier;
 import org.jetbrains.annotations.Nullable;
 
 /**
@@ -47,14 +48,24 @@ import org.jetbrains.annotations.Nullable;
  * come at a significant performance cost. Remember that parameter values for message construction
  * must all be computed eagerly, and autoboxing and varargs array creation may happen as well, even
  * when the precondition check then succeeds (as it should almost always do in production). In some
- * circumstances these wasted CPU cycles and allocations can add up to a real problem.
- * Performance-sensitive precondition checks can always be converted to the customary form:
+ * circumstances these wasted CPU cycles and allocations can add up to a real problem. The
+ * overloads taking one or two {@code char}, {@code int}, {@code long} or {@code Object} arguments,
+ * or three or four {@code Object} arguments, avoid both the array and the boxing, so a passing
+ * check with such arguments allocates nothing. Other performance-sensitive precondition checks can
+ * always be converted to the customary form:
  * <pre>   {@code
  * <p/>
  *   if (value < 0.0) {
  *     throw new IllegalArgumentException("negative value: " + value);
  *   }}</pre>
  * <p/>
+ * <h3>Stack traces</h3>
+ * <p/>
+ * <p>Most of the cost of a failed check is spent filling in the stack trace of its exception. Where
+ * failures are expected at a high rate, such as when validating untrusted input, {@link
+ * StacklessPreconditions} throws exceptions without one, and setting the {@value
+ * #STACKLESS_EXCEPTIONS_PROPERTY} system property to {@code true} makes this class do the same.
+ * <p/>
  * <h3>Other types of preconditions</h3>
  * <p/>
  * <p>Not every type of precondition failure is supported by these methods. Continue to throw
@@ -88,73 +99,832 @@ import org.jetbrains.annotations.Nullable;
  * @author Kevin Bourrillion
  */
 public final class Preconditions {
+  /**
+   * The system property which, when set to {@code true}, makes the failed checks of this class
+   * throw exceptions without a stack trace, as {@link StacklessPreconditions} does.
+   */
+  public static final String STACKLESS_EXCEPTIONS_PROPERTY =
+      "com.fernandocejas.arrow.checks.stacklessExceptions";
+
+  private static final boolean STACKLESS_EXCEPTIONS =
+      Boolean.getBoolean(STACKLESS_EXCEPTIONS_PROPERTY);
+
+  private static final int TEMPLATE_CACHE_SIZE = 256;
+  private static final MessageTemplate[] TEMPLATE_CACHE = new MessageTemplate[TEMPLATE_CACHE_SIZE];
+
   private Preconditions() {
   }
 
   /**
-   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   *
+   * @param expression a boolean expression
+   * @throws IllegalArgumentException if {@code expression} is false
+   */
+  public static void checkArgument(boolean expression) {
+    if (!expression) {
+      throw illegalArgument(null);
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   *
+   * @param expression a boolean expression
+   * @param errorMessage the exception message to use if the check fails; will be converted to a
+   * string using {@link String#valueOf(Object)}
+   * @throws IllegalArgumentException if {@code expression} is false
+   */
+  public static void checkArgument(boolean expression, @Nullable Object errorMessage) {
+    if (!expression) {
+      throw illegalArgument(String.valueOf(errorMessage));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   *
+   * <p>The message is only built if the check fails, so it can be costly to build, such as a dump
+   * of the contents of a collection, without slowing down the checks which pass.
+   *
+   * @param expression a boolean expression
+   * @param errorMessageSupplier supplies the exception message to use if the check fails; the
+   * message will be converted to a string using {@link String#valueOf(Object)}
+   * @throws IllegalArgumentException if {@code expression} is false
+   */
+  public static void checkArgument(boolean expression,
+      @Nullable Supplier<?> errorMessageSupplier) {
+    if (!expression) {
+      throw illegalArgument(messageOf(errorMessageSupplier));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   *
+   * @param expression a boolean expression
+   * @param errorMessageTemplate a template for the exception message should the check fail. The
+   * message is formed by replacing each {@code %s} placeholder in the template with an argument.
+   * These are matched by position - the first {@code %s} gets {@code errorMessageArgs[0]}, etc.
+   * Unmatched arguments will be appended to the formatted message in square braces. Unmatched
+   * placeholders will be left as-is.
+   * @param errorMessageArgs the arguments to be substituted into the message template. Arguments
+   * are converted to strings using {@link String#valueOf(Object)}.
+   * @throws IllegalArgumentException if {@code expression} is false
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      @Nullable Object... errorMessageArgs) {
+    if (!expression) {
+      throw illegalArgument(format(errorMessageTemplate, errorMessageArgs));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   *
+   * <p>See {@link #checkArgument(boolean, String, Object...)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      char p1) {
+    if (!expression) {
+      throw illegalArgument(format(errorMessageTemplate, p1));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   *
+   * <p>See {@link #checkArgument(boolean, String, Object...)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      int p1) {
+    if (!expression) {
+      throw illegalArgument(format(errorMessageTemplate, p1));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   *
+   * <p>See {@link #checkArgument(boolean, String, Object...)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      long p1) {
+    if (!expression) {
+      throw illegalArgument(format(errorMessageTemplate, p1));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   *
+   * <p>See {@link #checkArgument(boolean, String, Object...)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      @Nullable Object p1) {
+    if (!expression) {
+      throw illegalArgument(format(errorMessageTemplate, p1));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   *
+   * <p>See {@link #checkArgument(boolean, String, Object...)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      char p1, char p2) {
+    if (!expression) {
+      throw illegalArgument(format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   *
+   * <p>See {@link #checkArgument(boolean, String, Object...)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      char p1, int p2) {
+    if (!expression) {
+      throw illegalArgument(format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   *
+   * <p>See {@link #checkArgument(boolean, String, Object...)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      char p1, long p2) {
+    if (!expression) {
+      throw illegalArgument(format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   *
+   * <p>See {@link #checkArgument(boolean, String, Object...)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      char p1, @Nullable Object p2) {
+    if (!expression) {
+      throw illegalArgument(format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   *
+   * <p>See {@link #checkArgument(boolean, String, Object...)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      int p1, char p2) {
+    if (!expression) {
+      throw illegalArgument(format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   *
+   * <p>See {@link #checkArgument(boolean, String, Object...)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      int p1, int p2) {
+    if (!expression) {
+      throw illegalArgument(format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   *
+   * <p>See {@link #checkArgument(boolean, String, Object...)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      int p1, long p2) {
+    if (!expression) {
+      throw illegalArgument(format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   *
+   * <p>See {@link #checkArgument(boolean, String, Object...)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      int p1, @Nullable Object p2) {
+    if (!expression) {
+      throw illegalArgument(format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   *
+   * <p>See {@link #checkArgument(boolean, String, Object...)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      long p1, char p2) {
+    if (!expression) {
+      throw illegalArgument(format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   *
+   * <p>See {@link #checkArgument(boolean, String, Object...)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      long p1, int p2) {
+    if (!expression) {
+      throw illegalArgument(format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   *
+   * <p>See {@link #checkArgument(boolean, String, Object...)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      long p1, long p2) {
+    if (!expression) {
+      throw illegalArgument(format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   *
+   * <p>See {@link #checkArgument(boolean, String, Object...)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      long p1, @Nullable Object p2) {
+    if (!expression) {
+      throw illegalArgument(format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   *
+   * <p>See {@link #checkArgument(boolean, String, Object...)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, char p2) {
+    if (!expression) {
+      throw illegalArgument(format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   *
+   * <p>See {@link #checkArgument(boolean, String, Object...)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, int p2) {
+    if (!expression) {
+      throw illegalArgument(format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   *
+   * <p>See {@link #checkArgument(boolean, String, Object...)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, long p2) {
+    if (!expression) {
+      throw illegalArgument(format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   *
+   * <p>See {@link #checkArgument(boolean, String, Object...)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, @Nullable Object p2) {
+    if (!expression) {
+      throw illegalArgument(format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   *
+   * <p>See {@link #checkArgument(boolean, String, Object...)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, @Nullable Object p2, @Nullable Object p3) {
+    if (!expression) {
+      throw illegalArgument(format(errorMessageTemplate, p1, p2, p3));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   *
+   * <p>See {@link #checkArgument(boolean, String, Object...)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, @Nullable Object p2, @Nullable Object p3, @Nullable Object p4) {
+    if (!expression) {
+      throw illegalArgument(format(errorMessageTemplate, p1, p2, p3, p4));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   *
+   * @param expression a boolean expression
+   * @throws IllegalStateException if {@code expression} is false
+   */
+  public static void checkState(boolean expression) {
+    if (!expression) {
+      throw illegalState(null);
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   *
+   * @param expression a boolean expression
+   * @param errorMessage the exception message to use if the check fails; will be converted to a
+   * string using {@link String#valueOf(Object)}
+   * @throws IllegalStateException if {@code expression} is false
+   */
+  public static void checkState(boolean expression, @Nullable Object errorMessage) {
+    if (!expression) {
+      throw illegalState(String.valueOf(errorMessage));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   *
+   * <p>The message is only built if the check fails, so it can be costly to build, such as a dump
+   * of the contents of a collection, without slowing down the checks which pass.
+   *
+   * @param expression a boolean expression
+   * @param errorMessageSupplier supplies the exception message to use if the check fails; the
+   * message will be converted to a string using {@link String#valueOf(Object)}
+   * @throws IllegalStateException if {@code expression} is false
+   */
+  public static void checkState(boolean expression,
+      @Nullable Supplier<?> errorMessageSupplier) {
+    if (!expression) {
+      throw illegalState(messageOf(errorMessageSupplier));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   *
+   * @param expression a boolean expression
+   * @param errorMessageTemplate a template for the exception message should the check fail. The
+   * message is formed by replacing each {@code %s} placeholder in the template with an argument.
+   * These are matched by position - the first {@code %s} gets {@code errorMessageArgs[0]}, etc.
+   * Unmatched arguments will be appended to the formatted message in square braces. Unmatched
+   * placeholders will be left as-is.
+   * @param errorMessageArgs the arguments to be substituted into the message template. Arguments
+   * are converted to strings using {@link String#valueOf(Object)}.
+   * @throws IllegalStateException if {@code expression} is false
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      @Nullable Object... errorMessageArgs) {
+    if (!expression) {
+      throw illegalState(format(errorMessageTemplate, errorMessageArgs));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   *
+   * <p>See {@link #checkState(boolean, String, Object...)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      char p1) {
+    if (!expression) {
+      throw illegalState(format(errorMessageTemplate, p1));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   *
+   * <p>See {@link #checkState(boolean, String, Object...)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate, int p1) {
+    if (!expression) {
+      throw illegalState(format(errorMessageTemplate, p1));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   *
+   * <p>See {@link #checkState(boolean, String, Object...)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      long p1) {
+    if (!expression) {
+      throw illegalState(format(errorMessageTemplate, p1));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   *
+   * <p>See {@link #checkState(boolean, String, Object...)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      @Nullable Object p1) {
+    if (!expression) {
+      throw illegalState(format(errorMessageTemplate, p1));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   *
+   * <p>See {@link #checkState(boolean, String, Object...)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      char p1, char p2) {
+    if (!expression) {
+      throw illegalState(format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   *
+   * <p>See {@link #checkState(boolean, String, Object...)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      char p1, int p2) {
+    if (!expression) {
+      throw illegalState(format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   *
+   * <p>See {@link #checkState(boolean, String, Object...)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      char p1, long p2) {
+    if (!expression) {
+      throw illegalState(format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   *
+   * <p>See {@link #checkState(boolean, String, Object...)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      char p1, @Nullable Object p2) {
+    if (!expression) {
+      throw illegalState(format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   *
+   * <p>See {@link #checkState(boolean, String, Object...)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      int p1, char p2) {
+    if (!expression) {
+      throw illegalState(format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   *
+   * <p>See {@link #checkState(boolean, String, Object...)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      int p1, int p2) {
+    if (!expression) {
+      throw illegalState(format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   *
+   * <p>See {@link #checkState(boolean, String, Object...)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      int p1, long p2) {
+    if (!expression) {
+      throw illegalState(format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   *
+   * <p>See {@link #checkState(boolean, String, Object...)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      int p1, @Nullable Object p2) {
+    if (!expression) {
+      throw illegalState(format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   *
+   * <p>See {@link #checkState(boolean, String, Object...)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      long p1, char p2) {
+    if (!expression) {
+      throw illegalState(format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   *
+   * <p>See {@link #checkState(boolean, String, Object...)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      long p1, int p2) {
+    if (!expression) {
+      throw illegalState(format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   *
+   * <p>See {@link #checkState(boolean, String, Object...)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      long p1, long p2) {
+    if (!expression) {
+      throw illegalState(format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   *
+   * <p>See {@link #checkState(boolean, String, Object...)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      long p1, @Nullable Object p2) {
+    if (!expression) {
+      throw illegalState(format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   *
+   * <p>See {@link #checkState(boolean, String, Object...)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, char p2) {
+    if (!expression) {
+      throw illegalState(format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   *
+   * <p>See {@link #checkState(boolean, String, Object...)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, int p2) {
+    if (!expression) {
+      throw illegalState(format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   *
+   * <p>See {@link #checkState(boolean, String, Object...)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, long p2) {
+    if (!expression) {
+      throw illegalState(format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   *
+   * <p>See {@link #checkState(boolean, String, Object...)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, @Nullable Object p2) {
+    if (!expression) {
+      throw illegalState(format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   *
+   * <p>See {@link #checkState(boolean, String, Object...)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, @Nullable Object p2, @Nullable Object p3) {
+    if (!expression) {
+      throw illegalState(format(errorMessageTemplate, p1, p2, p3));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   *
+   * <p>See {@link #checkState(boolean, String, Object...)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, @Nullable Object p2, @Nullable Object p3, @Nullable Object p4) {
+    if (!expression) {
+      throw illegalState(format(errorMessageTemplate, p1, p2, p3, p4));
+    }
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   *
+   * @param reference an object reference
+   * @return the non-null reference that was validated
+   * @throws NullPointerException if {@code reference} is null
+   */
+  public static <T> T checkNotNull(T reference) {
+    if (reference == null) {
+      throw nullPointer(null);
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   *
+   * @param reference an object reference
+   * @param errorMessage the exception message to use if the check fails; will be converted to a
+   * string using {@link String#valueOf(Object)}
+   * @return the non-null reference that was validated
+   * @throws NullPointerException if {@code reference} is null
+   */
+  public static <T> T checkNotNull(T reference, @Nullable Object errorMessage) {
+    if (reference == null) {
+      throw nullPointer(String.valueOf(errorMessage));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   *
+   * <p>The message is only built if the check fails, so it can be costly to build, such as a dump
+   * of the contents of a collection, without slowing down the checks which pass.
+   *
+   * @param reference an object reference
+   * @param errorMessageSupplier supplies the exception message to use if the check fails; the
+   * message will be converted to a string using {@link String#valueOf(Object)}
+   * @return the non-null reference that was validated
+   * @throws NullPointerException if {@code reference} is null
+   */
+  public static <T> T checkNotNull(T reference, @Nullable Supplier<?> errorMessageSupplier) {
+    if (reference == null) {
+      throw nullPointer(messageOf(errorMessageSupplier));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   *
+   * @param reference an object reference
+   * @param errorMessageTemplate a template for the exception message should the check fail. The
+   * message is formed by replacing each {@code %s} placeholder in the template with an argument.
+   * These are matched by position - the first {@code %s} gets {@code errorMessageArgs[0]}, etc.
+   * Unmatched arguments will be appended to the formatted message in square braces. Unmatched
+   * placeholders will be left as-is.
+   * @param errorMessageArgs the arguments to be substituted into the message template. Arguments
+   * are converted to strings using {@link String#valueOf(Object)}.
+   * @return the non-null reference that was validated
+   * @throws NullPointerException if {@code reference} is null
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      @Nullable Object... errorMessageArgs) {
+    if (reference == null) {
+      throw nullPointer(format(errorMessageTemplate, errorMessageArgs));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
    *
-   * @param expression a boolean expression
-   * @throws IllegalArgumentException if {@code expression} is false
+   * <p>See {@link #checkNotNull(Object, String, Object...)} for details.
    */
-  public static void checkArgument(boolean expression) {
-    if (!expression) {
-      throw new IllegalArgumentException();
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate, char p1) {
+    if (reference == null) {
+      throw nullPointer(format(errorMessageTemplate, p1));
     }
+    return reference;
   }
 
   /**
-   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
    *
-   * @param expression a boolean expression
-   * @param errorMessage the exception message to use if the check fails; will be converted to a
-   * string using {@link String#valueOf(Object)}
-   * @throws IllegalArgumentException if {@code expression} is false
+   * <p>See {@link #checkNotNull(Object, String, Object...)} for details.
    */
-  public static void checkArgument(boolean expression, @Nullable Object errorMessage) {
-    if (!expression) {
-      throw new IllegalArgumentException(String.valueOf(errorMessage));
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate, int p1) {
+    if (reference == null) {
+      throw nullPointer(format(errorMessageTemplate, p1));
     }
+    return reference;
   }
 
   /**
-   * Ensures the truth of an expression involving the state of the calling instance, but not
-   * involving any parameters to the calling method.
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
    *
-   * @param expression a boolean expression
-   * @throws IllegalStateException if {@code expression} is false
+   * <p>See {@link #checkNotNull(Object, String, Object...)} for details.
    */
-  public static void checkState(boolean expression) {
-    if (!expression) {
-      throw new IllegalStateException();
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate, long p1) {
+    if (reference == null) {
+      throw nullPointer(format(errorMessageTemplate, p1));
     }
+    return reference;
   }
 
   /**
-   * Ensures the truth of an expression involving the state of the calling instance, but not
-   * involving any parameters to the calling method.
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
    *
-   * @param expression a boolean expression
-   * @param errorMessage the exception message to use if the check fails; will be converted to a
-   * string using {@link String#valueOf(Object)}
-   * @throws IllegalStateException if {@code expression} is false
+   * <p>See {@link #checkNotNull(Object, String, Object...)} for details.
    */
-  public static void checkState(boolean expression, @Nullable Object errorMessage) {
-    if (!expression) {
-      throw new IllegalStateException(String.valueOf(errorMessage));
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      @Nullable Object p1) {
+    if (reference == null) {
+      throw nullPointer(format(errorMessageTemplate, p1));
     }
+    return reference;
   }
 
   /**
    * Ensures that an object reference passed as a parameter to the calling method is not null.
    *
-   * @param reference an object reference
-   * @return the non-null reference that was validated
-   * @throws NullPointerException if {@code reference} is null
+   * <p>See {@link #checkNotNull(Object, String, Object...)} for details.
    */
-  public static <T> T checkNotNull(T reference) {
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      char p1, char p2) {
     if (reference == null) {
-      throw new NullPointerException();
+      throw nullPointer(format(errorMessageTemplate, p1, p2));
     }
     return reference;
   }
@@ -162,19 +932,256 @@ public final class Preconditions {
   /**
    * Ensures that an object reference passed as a parameter to the calling method is not null.
    *
-   * @param reference an object reference
-   * @param errorMessage the exception message to use if the check fails; will be converted to a
-   * string using {@link String#valueOf(Object)}
-   * @return the non-null reference that was validated
-   * @throws NullPointerException if {@code reference} is null
+   * <p>See {@link #checkNotNull(Object, String, Object...)} for details.
    */
-  public static <T> T checkNotNull(T reference, @Nullable Object errorMessage) {
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      char p1, int p2) {
+    if (reference == null) {
+      throw nullPointer(format(errorMessageTemplate, p1, p2));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   *
+   * <p>See {@link #checkNotNull(Object, String, Object...)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      char p1, long p2) {
+    if (reference == null) {
+      throw nullPointer(format(errorMessageTemplate, p1, p2));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   *
+   * <p>See {@link #checkNotNull(Object, String, Object...)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      char p1, @Nullable Object p2) {
+    if (reference == null) {
+      throw nullPointer(format(errorMessageTemplate, p1, p2));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   *
+   * <p>See {@link #checkNotNull(Object, String, Object...)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      int p1, char p2) {
+    if (reference == null) {
+      throw nullPointer(format(errorMessageTemplate, p1, p2));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   *
+   * <p>See {@link #checkNotNull(Object, String, Object...)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      int p1, int p2) {
+    if (reference == null) {
+      throw nullPointer(format(errorMessageTemplate, p1, p2));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   *
+   * <p>See {@link #checkNotNull(Object, String, Object...)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      int p1, long p2) {
+    if (reference == null) {
+      throw nullPointer(format(errorMessageTemplate, p1, p2));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   *
+   * <p>See {@link #checkNotNull(Object, String, Object...)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      int p1, @Nullable Object p2) {
+    if (reference == null) {
+      throw nullPointer(format(errorMessageTemplate, p1, p2));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   *
+   * <p>See {@link #checkNotNull(Object, String, Object...)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      long p1, char p2) {
+    if (reference == null) {
+      throw nullPointer(format(errorMessageTemplate, p1, p2));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   *
+   * <p>See {@link #checkNotNull(Object, String, Object...)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      long p1, int p2) {
+    if (reference == null) {
+      throw nullPointer(format(errorMessageTemplate, p1, p2));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   *
+   * <p>See {@link #checkNotNull(Object, String, Object...)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      long p1, long p2) {
+    if (reference == null) {
+      throw nullPointer(format(errorMessageTemplate, p1, p2));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   *
+   * <p>See {@link #checkNotNull(Object, String, Object...)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      long p1, @Nullable Object p2) {
+    if (reference == null) {
+      throw nullPointer(format(errorMessageTemplate, p1, p2));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   *
+   * <p>See {@link #checkNotNull(Object, String, Object...)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, char p2) {
+    if (reference == null) {
+      throw nullPointer(format(errorMessageTemplate, p1, p2));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   *
+   * <p>See {@link #checkNotNull(Object, String, Object...)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, int p2) {
+    if (reference == null) {
+      throw nullPointer(format(errorMessageTemplate, p1, p2));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   *
+   * <p>See {@link #checkNotNull(Object, String, Object...)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, long p2) {
+    if (reference == null) {
+      throw nullPointer(format(errorMessageTemplate, p1, p2));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   *
+   * <p>See {@link #checkNotNull(Object, String, Object...)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, @Nullable Object p2) {
+    if (reference == null) {
+      throw nullPointer(format(errorMessageTemplate, p1, p2));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   *
+   * <p>See {@link #checkNotNull(Object, String, Object...)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, @Nullable Object p2, @Nullable Object p3) {
+    if (reference == null) {
+      throw nullPointer(format(errorMessageTemplate, p1, p2, p3));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   *
+   * <p>See {@link #checkNotNull(Object, String, Object...)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, @Nullable Object p2, @Nullable Object p3, @Nullable Object p4) {
     if (reference == null) {
-      throw new NullPointerException(String.valueOf(errorMessage));
+      throw nullPointer(format(errorMessageTemplate, p1, p2, p3, p4));
     }
     return reference;
   }
 
+  /*
+   * All recent hotspots (as of 2009) *really* like to have the natural code
+   *
+   * if (guardExpression) {
+   *    throw new BadException(messageExpression);
+   * }
+   *
+   * refactored so that messageExpression is moved to a separate String-returning method.
+   *
+   * if (guardExpression) {
+   *    throw new BadException(badMsg(...));
+   * }
+   *
+   * The alternative natural refactorings into void or Exception-returning methods are much slower.
+   * This is a big deal - we're talking factors of 2-8 in microbenchmarks, not just 10-20%. (This
+   * is a hotspot optimizer bug, which should be fixed, but that's a separate, big project).
+   *
+   * The coding pattern above is heavily used in java.util, e.g. in ArrayList. There is a
+   * RangeCheckMicroBenchmark in the JDK that was used to test this.
+   *
+   * But the methods in this class want to throw different exceptions, depending on the args, so it
+   * appears that this pattern is not directly applicable. But we can use the ridiculous, devious
+   * trick of throwing an exception in the middle of the construction of another exception. Hotspot
+   * is fine with that.
+   *
+   * The index checks below keep that shape, with nothing but the comparisons on their fast path,
+   * so that once inlined C2 recognizes them as range checks: it merges both comparisons into one
+   * unsigned comparison and hoists it out of counted loops, as it does for the intrinsic
+   * java.util.Objects.checkIndex of Java 9. That method cannot be called from this Java 7 library,
+   * and multi-release jars are ignored on Android, so the checks are not delegated to it.
+   */
+
   /**
    * Ensures that {@code index} specifies a valid <i>element</i> in an array, list or string of
    * size
@@ -296,46 +1303,127 @@ public final class Preconditions {
     return format("end index (%s) must not be less than start index (%s)", end, start);
   }
 
+  /**
+   * Ensures that the range from {@code fromIndex}, inclusive, to {@code toIndex}, exclusive, is
+   * within the bounds of an array, list or string of size {@code size}. This is {@link
+   * #checkPositionIndexes(int, int, int)} returning {@code fromIndex}, in the form of {@code
+   * java.util.Objects.checkFromToIndex} of Java 9.
+   *
+   * @param fromIndex a user-supplied index identifying the first element of the range
+   * @param toIndex a user-supplied index identifying the end of the range
+   * @param size the size of that array, list or string
+   * @return the value of {@code fromIndex}
+   * @throws IndexOutOfBoundsException if either index is negative or is greater than {@code size},
+   * or if {@code toIndex} is less than {@code fromIndex}
+   * @throws IllegalArgumentException if {@code size} is negative
+   */
+  public static int checkFromToIndex(int fromIndex, int toIndex, int size) {
+    // Carefully optimized for execution by hotspot (explanatory comment above)
+    if (fromIndex < 0 || toIndex < fromIndex || toIndex > size) {
+      throw new IndexOutOfBoundsException(badPositionIndexes(fromIndex, toIndex, size));
+    }
+    return fromIndex;
+  }
+
+  /**
+   * Ensures that the range of {@code length} elements starting at {@code fromIndex} is within the
+   * bounds of an array, list or string of size {@code size}, in the form of {@code
+   * java.util.Objects.checkFromIndexSize} of Java 9. Unlike {@code checkFromToIndex(fromIndex,
+   * fromIndex + length, size)}, it does not overflow when {@code fromIndex + length} does.
+   *
+   * @param fromIndex a user-supplied index identifying the first element of the range
+   * @param length the number of elements of the range
+   * @param size the size of that array, list or string
+   * @return the value of {@code fromIndex}
+   * @throws IndexOutOfBoundsException if {@code fromIndex} or {@code length} is negative, or if the
+   * range ends after {@code size}
+   * @throws IllegalArgumentException if {@code size} is negative
+   */
+  public static int checkFromIndexSize(int fromIndex, int length, int size) {
+    // Carefully optimized for execution by hotspot (explanatory comment above)
+    if ((fromIndex | length) < 0 || length > size - fromIndex) {
+      throw new IndexOutOfBoundsException(badFromIndexSize(fromIndex, length, size));
+    }
+    return fromIndex;
+  }
+
+  private static String badFromIndexSize(int fromIndex, int length, int size) {
+    if (fromIndex < 0 || fromIndex > size) {
+      return badPositionIndex(fromIndex, size, "start index");
+    }
+    if (length < 0) {
+      return format("length (%s) must not be negative", length);
+    }
+    // fromIndex + length > size
+    return format("end index (%s) must not be greater than size (%s)",
+        (long) fromIndex + length, size);
+  }
+
+  /**
+   * Returns the exception a failed {@code checkArgument} throws, without a stack trace if {@link
+   * #STACKLESS_EXCEPTIONS_PROPERTY} is set.
+   */
+  private static IllegalArgumentException illegalArgument(@Nullable String message) {
+    return STACKLESS_EXCEPTIONS
+        ? StacklessPreconditions.illegalArgument(message)
+        : new IllegalArgumentException(message);
+  }
+
+  /**
+   * Returns the exception a failed {@code checkState} throws, as {@link #illegalArgument} does.
+   */
+  private static IllegalStateException illegalState(@Nullable String message) {
+    return STACKLESS_EXCEPTIONS
+        ? StacklessPreconditions.illegalState(message)
+        : new IllegalStateException(message);
+  }
+
+  /**
+   * Returns the exception a failed {@code checkNotNull} throws, as {@link #illegalArgument} does.
+   */
+  private static NullPointerException nullPointer(@Nullable String message) {
+    return STACKLESS_EXCEPTIONS
+        ? StacklessPreconditions.nullPointer(message)
+        : new NullPointerException(message);
+  }
+
+  /**
+   * Returns the message supplied by {@code supplier} as a string, or {@code "null"} if {@code
+   * supplier} itself is null, as for the overloads taking a message object.
+   */
+  static String messageOf(@Nullable Supplier<?> supplier) {
+    return String.valueOf(supplier == null ? null : supplier.get());
+  }
+
   /**
    * Substitutes each {@code %s} in {@code template} with an argument. These are matched by
    * position: the first {@code %s} gets {@code args[0]}, etc.  If there are more arguments than
    * placeholders, the unmatched arguments will be appended to the end of the formatted message in
    * square braces.
    *
-   * @param template a non-null string containing 0 or more {@code %s} placeholders.
+   * @param template a string containing 0 or more {@code %s} placeholders; null is treated as
+   * {@code "null"}.
    * @param args the arguments to be substituted into the message template. Arguments are converted
    * to strings using {@link String#valueOf(Object)}. Arguments can be null.
    */
   // Note that this is somewhat-improperly used from Verify.java as well.
   static String format(String template, Object... args) {
-    String normTemplate = String.valueOf(template); // null -> "null"
-
-    // start substituting the arguments into the '%s' placeholders
-    StringBuilder builder = new StringBuilder(normTemplate.length() + 16 * args.length);
-    int templateStart = 0;
-    int i = 0;
-    while (i < args.length) {
-      int placeholderStart = normTemplate.indexOf("%s", templateStart);
-      if (placeholderStart == -1) {
-        break;
-      }
-      builder.append(normTemplate.substring(templateStart, placeholderStart));
-      builder.append(args[i++]);
-      templateStart = placeholderStart + 2;
-    }
-    builder.append(normTemplate.substring(templateStart));
-
-    // if we run out of placeholders, append the extra args in square braces
-    if (i < args.length) {
-      builder.append(" [");
-      builder.append(args[i++]);
-      while (i < args.length) {
-        builder.append(", ");
-        builder.append(args[i++]);
-      }
-      builder.append(']');
-    }
-
-    return builder.toString();
+    return compiled(String.valueOf(template)).format(args); // null -> "null"
+  }
+
+  /**
+   * Returns {@code template} compiled, from a cache indexed by its hash code. Templates are almost
+   * always constants, so a small cache holds all of those being formatted at the same time;
+   * colliding templates merely replace each other.
+   */
+  private static MessageTemplate compiled(String template) {
+    int index = template.hashCode() & (TEMPLATE_CACHE_SIZE - 1);
+    MessageTemplate compiled = TEMPLATE_CACHE[index];
+    // MessageTemplate is immutable, so a racy read sees either null or a complete instance
+    if (compiled == null || !compiled.toString().equals(template)) {
+      compiled = MessageTemplate.compile(template);
+      TEMPLATE_CACHE[index] = compiled;
+    }
+    return compiled;
   }
 }
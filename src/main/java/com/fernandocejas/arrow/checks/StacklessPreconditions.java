@@ -0,0 +1,1150 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.checks;
+
+import com.fernandocejas.arrow.functions.Supplier;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The message-bearing checks of {@link Preconditions}, throwing exceptions without a stack trace.
+ *
+ * <p>Most of the cost of a failed check is spent filling in the stack trace of its exception.
+ * Where failures are expected at a high rate and their stack trace is of no use, such as when
+ * validating untrusted input and turning the failures into error responses, these checks throw
+ * subclasses of {@link IllegalArgumentException}, {@link IllegalStateException} and {@link
+ * NullPointerException} which skip it. Their messages are the same as those of {@code
+ * Preconditions}, and catching the usual exception types still catches them, but their {@link
+ * Throwable#getStackTrace()} is empty.
+ *
+ * <p>To make every check of {@code Preconditions} throw these exceptions instead, set the {@value
+ * Preconditions#STACKLESS_EXCEPTIONS_PROPERTY} system property to {@code true}.
+ */
+public final class StacklessPreconditions {
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkArgument(boolean)} for details.
+   */
+  public static void checkArgument(boolean expression) {
+    if (!expression) {
+      throw illegalArgument(null);
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkArgument(boolean, Object)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable Object errorMessage) {
+    if (!expression) {
+      throw illegalArgument(String.valueOf(errorMessage));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkArgument(boolean, Supplier)} for details.
+   */
+  public static void checkArgument(boolean expression,
+      @Nullable Supplier<?> errorMessageSupplier) {
+    if (!expression) {
+      throw illegalArgument(Preconditions.messageOf(errorMessageSupplier));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkArgument(boolean, String, Object...)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      @Nullable Object... errorMessageArgs) {
+    if (!expression) {
+      throw illegalArgument(Preconditions.format(errorMessageTemplate, errorMessageArgs));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkArgument(boolean, String, char)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      char p1) {
+    if (!expression) {
+      throw illegalArgument(Preconditions.format(errorMessageTemplate, p1));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkArgument(boolean, String, int)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      int p1) {
+    if (!expression) {
+      throw illegalArgument(Preconditions.format(errorMessageTemplate, p1));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkArgument(boolean, String, long)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      long p1) {
+    if (!expression) {
+      throw illegalArgument(Preconditions.format(errorMessageTemplate, p1));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkArgument(boolean, String, Object)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      @Nullable Object p1) {
+    if (!expression) {
+      throw illegalArgument(Preconditions.format(errorMessageTemplate, p1));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkArgument(boolean, String, char, char)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      char p1, char p2) {
+    if (!expression) {
+      throw illegalArgument(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkArgument(boolean, String, char, int)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      char p1, int p2) {
+    if (!expression) {
+      throw illegalArgument(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkArgument(boolean, String, char, long)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      char p1, long p2) {
+    if (!expression) {
+      throw illegalArgument(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkArgument(boolean, String, char, Object)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      char p1, @Nullable Object p2) {
+    if (!expression) {
+      throw illegalArgument(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkArgument(boolean, String, int, char)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      int p1, char p2) {
+    if (!expression) {
+      throw illegalArgument(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkArgument(boolean, String, int, int)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      int p1, int p2) {
+    if (!expression) {
+      throw illegalArgument(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkArgument(boolean, String, int, long)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      int p1, long p2) {
+    if (!expression) {
+      throw illegalArgument(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkArgument(boolean, String, int, Object)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      int p1, @Nullable Object p2) {
+    if (!expression) {
+      throw illegalArgument(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkArgument(boolean, String, long, char)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      long p1, char p2) {
+    if (!expression) {
+      throw illegalArgument(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkArgument(boolean, String, long, int)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      long p1, int p2) {
+    if (!expression) {
+      throw illegalArgument(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkArgument(boolean, String, long, long)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      long p1, long p2) {
+    if (!expression) {
+      throw illegalArgument(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkArgument(boolean, String, long, Object)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      long p1, @Nullable Object p2) {
+    if (!expression) {
+      throw illegalArgument(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkArgument(boolean, String, Object, char)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, char p2) {
+    if (!expression) {
+      throw illegalArgument(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkArgument(boolean, String, Object, int)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, int p2) {
+    if (!expression) {
+      throw illegalArgument(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkArgument(boolean, String, Object, long)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, long p2) {
+    if (!expression) {
+      throw illegalArgument(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkArgument(boolean, String, Object, Object)} for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, @Nullable Object p2) {
+    if (!expression) {
+      throw illegalArgument(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkArgument(boolean, String, Object, Object, Object)}
+   * for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, @Nullable Object p2, @Nullable Object p3) {
+    if (!expression) {
+      throw illegalArgument(Preconditions.format(errorMessageTemplate, p1, p2, p3));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving one or more parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkArgument(boolean, String, Object, Object, Object, Object)}
+   * for details.
+   */
+  public static void checkArgument(boolean expression, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, @Nullable Object p2, @Nullable Object p3, @Nullable Object p4) {
+    if (!expression) {
+      throw illegalArgument(Preconditions.format(errorMessageTemplate, p1, p2, p3, p4));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkState(boolean)} for details.
+   */
+  public static void checkState(boolean expression) {
+    if (!expression) {
+      throw illegalState(null);
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkState(boolean, Object)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable Object errorMessage) {
+    if (!expression) {
+      throw illegalState(String.valueOf(errorMessage));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkState(boolean, Supplier)} for details.
+   */
+  public static void checkState(boolean expression,
+      @Nullable Supplier<?> errorMessageSupplier) {
+    if (!expression) {
+      throw illegalState(Preconditions.messageOf(errorMessageSupplier));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkState(boolean, String, Object...)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      @Nullable Object... errorMessageArgs) {
+    if (!expression) {
+      throw illegalState(Preconditions.format(errorMessageTemplate, errorMessageArgs));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkState(boolean, String, char)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      char p1) {
+    if (!expression) {
+      throw illegalState(Preconditions.format(errorMessageTemplate, p1));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkState(boolean, String, int)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate, int p1) {
+    if (!expression) {
+      throw illegalState(Preconditions.format(errorMessageTemplate, p1));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkState(boolean, String, long)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      long p1) {
+    if (!expression) {
+      throw illegalState(Preconditions.format(errorMessageTemplate, p1));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkState(boolean, String, Object)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      @Nullable Object p1) {
+    if (!expression) {
+      throw illegalState(Preconditions.format(errorMessageTemplate, p1));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkState(boolean, String, char, char)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      char p1, char p2) {
+    if (!expression) {
+      throw illegalState(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkState(boolean, String, char, int)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      char p1, int p2) {
+    if (!expression) {
+      throw illegalState(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkState(boolean, String, char, long)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      char p1, long p2) {
+    if (!expression) {
+      throw illegalState(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkState(boolean, String, char, Object)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      char p1, @Nullable Object p2) {
+    if (!expression) {
+      throw illegalState(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkState(boolean, String, int, char)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      int p1, char p2) {
+    if (!expression) {
+      throw illegalState(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkState(boolean, String, int, int)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      int p1, int p2) {
+    if (!expression) {
+      throw illegalState(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkState(boolean, String, int, long)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      int p1, long p2) {
+    if (!expression) {
+      throw illegalState(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkState(boolean, String, int, Object)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      int p1, @Nullable Object p2) {
+    if (!expression) {
+      throw illegalState(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkState(boolean, String, long, char)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      long p1, char p2) {
+    if (!expression) {
+      throw illegalState(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkState(boolean, String, long, int)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      long p1, int p2) {
+    if (!expression) {
+      throw illegalState(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkState(boolean, String, long, long)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      long p1, long p2) {
+    if (!expression) {
+      throw illegalState(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkState(boolean, String, long, Object)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      long p1, @Nullable Object p2) {
+    if (!expression) {
+      throw illegalState(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkState(boolean, String, Object, char)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, char p2) {
+    if (!expression) {
+      throw illegalState(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkState(boolean, String, Object, int)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, int p2) {
+    if (!expression) {
+      throw illegalState(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkState(boolean, String, Object, long)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, long p2) {
+    if (!expression) {
+      throw illegalState(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkState(boolean, String, Object, Object)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, @Nullable Object p2) {
+    if (!expression) {
+      throw illegalState(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkState(boolean, String, Object, Object, Object)} for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, @Nullable Object p2, @Nullable Object p3) {
+    if (!expression) {
+      throw illegalState(Preconditions.format(errorMessageTemplate, p1, p2, p3));
+    }
+  }
+
+  /**
+   * Ensures the truth of an expression involving the state of the calling instance, but not
+   * involving any parameters to the calling method.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkState(boolean, String, Object, Object, Object, Object)}
+   * for details.
+   */
+  public static void checkState(boolean expression, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, @Nullable Object p2, @Nullable Object p3, @Nullable Object p4) {
+    if (!expression) {
+      throw illegalState(Preconditions.format(errorMessageTemplate, p1, p2, p3, p4));
+    }
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkNotNull(Object)} for details.
+   */
+  public static <T> T checkNotNull(T reference) {
+    if (reference == null) {
+      throw nullPointer(null);
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkNotNull(Object, Object)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable Object errorMessage) {
+    if (reference == null) {
+      throw nullPointer(String.valueOf(errorMessage));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkNotNull(Object, Supplier)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable Supplier<?> errorMessageSupplier) {
+    if (reference == null) {
+      throw nullPointer(Preconditions.messageOf(errorMessageSupplier));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkNotNull(Object, String, Object...)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      @Nullable Object... errorMessageArgs) {
+    if (reference == null) {
+      throw nullPointer(Preconditions.format(errorMessageTemplate, errorMessageArgs));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkNotNull(Object, String, char)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate, char p1) {
+    if (reference == null) {
+      throw nullPointer(Preconditions.format(errorMessageTemplate, p1));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkNotNull(Object, String, int)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate, int p1) {
+    if (reference == null) {
+      throw nullPointer(Preconditions.format(errorMessageTemplate, p1));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkNotNull(Object, String, long)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate, long p1) {
+    if (reference == null) {
+      throw nullPointer(Preconditions.format(errorMessageTemplate, p1));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkNotNull(Object, String, Object)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      @Nullable Object p1) {
+    if (reference == null) {
+      throw nullPointer(Preconditions.format(errorMessageTemplate, p1));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkNotNull(Object, String, char, char)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      char p1, char p2) {
+    if (reference == null) {
+      throw nullPointer(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkNotNull(Object, String, char, int)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      char p1, int p2) {
+    if (reference == null) {
+      throw nullPointer(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkNotNull(Object, String, char, long)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      char p1, long p2) {
+    if (reference == null) {
+      throw nullPointer(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkNotNull(Object, String, char, Object)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      char p1, @Nullable Object p2) {
+    if (reference == null) {
+      throw nullPointer(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkNotNull(Object, String, int, char)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      int p1, char p2) {
+    if (reference == null) {
+      throw nullPointer(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkNotNull(Object, String, int, int)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      int p1, int p2) {
+    if (reference == null) {
+      throw nullPointer(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkNotNull(Object, String, int, long)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      int p1, long p2) {
+    if (reference == null) {
+      throw nullPointer(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkNotNull(Object, String, int, Object)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      int p1, @Nullable Object p2) {
+    if (reference == null) {
+      throw nullPointer(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkNotNull(Object, String, long, char)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      long p1, char p2) {
+    if (reference == null) {
+      throw nullPointer(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkNotNull(Object, String, long, int)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      long p1, int p2) {
+    if (reference == null) {
+      throw nullPointer(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkNotNull(Object, String, long, long)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      long p1, long p2) {
+    if (reference == null) {
+      throw nullPointer(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkNotNull(Object, String, long, Object)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      long p1, @Nullable Object p2) {
+    if (reference == null) {
+      throw nullPointer(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkNotNull(Object, String, Object, char)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, char p2) {
+    if (reference == null) {
+      throw nullPointer(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkNotNull(Object, String, Object, int)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, int p2) {
+    if (reference == null) {
+      throw nullPointer(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkNotNull(Object, String, Object, long)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, long p2) {
+    if (reference == null) {
+      throw nullPointer(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkNotNull(Object, String, Object, Object)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, @Nullable Object p2) {
+    if (reference == null) {
+      throw nullPointer(Preconditions.format(errorMessageTemplate, p1, p2));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkNotNull(Object, String, Object, Object, Object)} for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, @Nullable Object p2, @Nullable Object p3) {
+    if (reference == null) {
+      throw nullPointer(Preconditions.format(errorMessageTemplate, p1, p2, p3));
+    }
+    return reference;
+  }
+
+  /**
+   * Ensures that an object reference passed as a parameter to the calling method is not null.
+   * Throws a stackless exception if it is not the case.
+   *
+   * <p>See {@link Preconditions#checkNotNull(Object, String, Object, Object, Object, Object)}
+   * for details.
+   */
+  public static <T> T checkNotNull(T reference, @Nullable String errorMessageTemplate,
+      @Nullable Object p1, @Nullable Object p2, @Nullable Object p3, @Nullable Object p4) {
+    if (reference == null) {
+      throw nullPointer(Preconditions.format(errorMessageTemplate, p1, p2, p3, p4));
+    }
+    return reference;
+  }
+
+  static IllegalArgumentException illegalArgument(@Nullable String message) {
+    return new StacklessIllegalArgumentException(message);
+  }
+
+  static IllegalStateException illegalState(@Nullable String message) {
+    return new StacklessIllegalStateException(message);
+  }
+
+  static NullPointerException nullPointer(@Nullable String message) {
+    return new StacklessNullPointerException(message);
+  }
+
+  private static final class StacklessIllegalArgumentException extends IllegalArgumentException {
+    private static final long serialVersionUID = 0;
+
+    StacklessIllegalArgumentException(@Nullable String message) {
+      super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+      return this;
+    }
+  }
+
+  private static final class StacklessIllegalStateException extends IllegalStateException {
+    private static final long serialVersionUID = 0;
+
+    StacklessIllegalStateException(@Nullable String message) {
+      super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+      return this;
+    }
+  }
+
+  private static final class StacklessNullPointerException extends NullPointerException {
+    private static final long serialVersionUID = 0;
+
+    StacklessNullPointerException(@Nullable String message) {
+      super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+      return this;
+    }
+  }
+
+  private StacklessPreconditions() {
+    // no instances
+  }
+}
@@ -0,0 +1,411 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.collections;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import org.jetbrains.annotations.Nullable;
+
+import static com.fernandocejas.arrow.checks.Preconditions.checkArgument;
+import static com.fernandocejas.arrow.checks.Preconditions.checkElementIndex;
+import static com.fernandocejas.arrow.checks.Preconditions.checkFromIndexSize;
+import static com.fernandocejas.arrow.checks.Preconditions.checkNotNull;
+import static com.fernandocejas.arrow.checks.Preconditions.checkPositionIndex;
+
+/**
+ * A growable list of {@code double} values, stored in a {@code double[]} without boxing.
+ *
+ * <p>An {@code ArrayList<Double>} holds a reference to a separate {@link Double} object for
+ * every element, which takes 28 bytes per element on a 64-bit JVM with compressed references
+ * where a {@code double} takes 8. This list stores the values themselves, and only boxes them
+ * when they are read through the {@link #asList()} view.
+ *
+ * <p>Elements are compared as {@link Double#equals(Object)} compares them, so {@code NaN} is equal
+ * to itself and {@code 0.0} is not equal to {@code -0.0}, which is also the order {@link #sort()}
+ * and {@link #binarySearch(double)} use.
+ *
+ * <p>Like {@link java.util.ArrayList}, this class is not thread safe.
+ *
+ * @see Lists#newDoubleList(double...)
+ */
+public final class DoubleArrayList {
+
+  private static final int DEFAULT_CAPACITY = 10;
+  private static final double[] EMPTY = {};
+
+  private double[] elements;
+  private int size;
+  // created on first use; its modCount counts the structural modifications of this list
+  @Nullable private AsList view;
+
+  /**
+   * Creates an empty list.
+   */
+  public DoubleArrayList() {
+    elements = EMPTY;
+  }
+
+  /**
+   * Creates an empty list which holds {@code initialCapacity} elements before it needs to grow.
+   *
+   * @throws IllegalArgumentException if {@code initialCapacity} is negative
+   */
+  public DoubleArrayList(int initialCapacity) {
+    checkArgument(initialCapacity >= 0, "initialCapacity (%s) must not be negative",
+        initialCapacity);
+    elements = initialCapacity == 0 ? EMPTY : new double[initialCapacity];
+  }
+
+  /**
+   * Returns the number of elements in this list.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns {@code true} if this list contains no elements.
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns the element at {@code index}.
+   *
+   * @throws IndexOutOfBoundsException if {@code index} is negative or not less than {@link #size()}
+   */
+  public double get(int index) {
+    // only the upper bound: the array access rejects a negative index, and a single comparison
+    // lets hotspot unroll loops over this list as it does over an array
+    if (index >= size) {
+      checkElementIndex(index, size);
+    }
+    return elements[index];
+  }
+
+  /**
+   * Replaces the element at {@code index} with {@code value}, returning the element it replaced.
+   *
+   * @throws IndexOutOfBoundsException if {@code index} is negative or not less than {@link #size()}
+   */
+  public double set(int index, double value) {
+    // only the upper bound: the array access rejects a negative index, and a single comparison
+    // lets hotspot unroll loops over this list as it does over an array
+    if (index >= size) {
+      checkElementIndex(index, size);
+    }
+    double previous = elements[index];
+    elements[index] = value;
+    return previous;
+  }
+
+  /**
+   * Appends {@code value} to the end of this list.
+   */
+  public void add(double value) {
+    if (size == elements.length) {
+      grow(size + 1);
+    }
+    elements[size++] = value;
+    modified();
+  }
+
+  /**
+   * Inserts {@code value} at {@code index}, shifting the element currently there, if any, and the
+   * ones after it to the right.
+   *
+   * @throws IndexOutOfBoundsException if {@code index} is greater than {@link #size()}
+   */
+  public void add(int index, double value) {
+    checkPositionIndex(index, size);
+    if (size == elements.length) {
+      grow(size + 1);
+    }
+    System.arraycopy(elements, index, elements, index + 1, size - index);
+    elements[index] = value;
+    size++;
+    modified();
+  }
+
+  /**
+   * Appends all of {@code values} to the end of this list, growing it at most once.
+   */
+  public void addAll(double[] values) {
+    addAll(values, 0, values.length);
+  }
+
+  /**
+   * Appends {@code length} elements of {@code values}, starting at {@code offset}, to the end of
+   * this list, growing it at most once.
+   *
+   * @throws IndexOutOfBoundsException if the range is out of the bounds of {@code values}
+   */
+  public void addAll(double[] values, int offset, int length) {
+    checkFromIndexSize(offset, length, values.length);
+    if (length > elements.length - size) {
+      // size + length overflows to a negative capacity which grow rejects
+      grow(size + length);
+    }
+    System.arraycopy(values, offset, elements, size, length);
+    size += length;
+    modified();
+  }
+
+  /**
+   * Removes the element at {@code index}, shifting the ones after it to the left, and returns it.
+   *
+   * @throws IndexOutOfBoundsException if {@code index} is negative or not less than {@link #size()}
+   */
+  public double removeAt(int index) {
+    checkElementIndex(index, size);
+    double removed = elements[index];
+    System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+    size--;
+    modified();
+    return removed;
+  }
+
+  /**
+   * Removes all of the elements from this list, keeping its capacity.
+   */
+  public void clear() {
+    size = 0;
+    modified();
+  }
+
+  /**
+   * Returns {@code true} if this list contains {@code value}.
+   */
+  public boolean contains(double value) {
+    return indexOf(value) >= 0;
+  }
+
+  /**
+   * Returns the index of the first occurrence of {@code value} in this list, or -1 if there is
+   * none.
+   */
+  public int indexOf(double value) {
+    for (int i = 0; i < size; i++) {
+      if (equal(elements[i], value)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the index of the last occurrence of {@code value} in this list, or -1 if there is
+   * none.
+   */
+  public int lastIndexOf(double value) {
+    for (int i = size - 1; i >= 0; i--) {
+      if (equal(elements[i], value)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Sorts this list into ascending numerical order, as {@link Arrays#sort(double[])} does.
+   */
+  public void sort() {
+    Arrays.sort(elements, 0, size);
+    modified();
+  }
+
+  /**
+   * Searches this list, which must be sorted, for {@code value} as {@link
+   * Arrays#binarySearch(double[], double)} does.
+   *
+   * @return the index of {@code value} if it is in this list; otherwise {@code (-(insertion point)
+   * - 1)}, where the insertion point is the index at which {@code value} would be inserted
+   */
+  public int binarySearch(double value) {
+    return Arrays.binarySearch(elements, 0, size, value);
+  }
+
+  /**
+   * Returns a new array containing the elements of this list, in order.
+   */
+  public double[] toArray() {
+    return Arrays.copyOf(elements, size);
+  }
+
+  /**
+   * Makes sure this list holds at least {@code minCapacity} elements before it needs to grow.
+   */
+  public void ensureCapacity(int minCapacity) {
+    if (minCapacity > elements.length) {
+      grow(minCapacity);
+    }
+  }
+
+  /**
+   * Shrinks the backing array of this list to its size.
+   */
+  public void trimToSize() {
+    if (size < elements.length) {
+      elements = size == 0 ? EMPTY : Arrays.copyOf(elements, size);
+    }
+  }
+
+  /**
+   * Returns a {@link List} view of this list, for code which only accepts collections of objects.
+   *
+   * <p>The view is backed by this list, so changes to one are visible in the other. It supports
+   * every optional operation except adding or setting a {@code null} element, and boxes each
+   * element it returns. Its iterators fail fast, as those of {@link java.util.ArrayList} do, when
+   * this list is structurally modified through either API.
+   */
+  public List<Double> asList() {
+    if (view == null) {
+      view = new AsList();
+    }
+    return view;
+  }
+
+  @Override
+  public boolean equals(@Nullable Object object) {
+    if (object == this) {
+      return true;
+    }
+    if (!(object instanceof DoubleArrayList)) {
+      return false;
+    }
+    DoubleArrayList that = (DoubleArrayList) object;
+    if (size != that.size) {
+      return false;
+    }
+    for (int i = 0; i < size; i++) {
+      if (!equal(elements[i], that.elements[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the same hash code as a {@link List} of the boxed elements, such as {@link #asList()}.
+   */
+  @Override
+  public int hashCode() {
+    int result = 1;
+    for (int i = 0; i < size; i++) {
+      result = 31 * result + hashCode(elements[i]);
+    }
+    return result;
+  }
+
+  /**
+   * Returns the elements of this list in the same format as {@link java.util.AbstractCollection}.
+   */
+  @Override
+  public String toString() {
+    if (size == 0) {
+      return "[]";
+    }
+    StringBuilder builder = new StringBuilder().append('[').append(elements[0]);
+    for (int i = 1; i < size; i++) {
+      builder.append(", ").append(elements[i]);
+    }
+    return builder.append(']').toString();
+  }
+
+  private void grow(int minCapacity) {
+    if (minCapacity < 0) {
+      throw new OutOfMemoryError();
+    }
+    int capacity = elements.length + (elements.length >> 1);
+    if (capacity < minCapacity) {
+      capacity = Math.max(minCapacity, DEFAULT_CAPACITY);
+    }
+    if (capacity < 0) {
+      capacity = Integer.MAX_VALUE - 8;
+    }
+    elements = Arrays.copyOf(elements, capacity);
+  }
+
+  private void modified() {
+    if (view != null) {
+      view.modified();
+    }
+  }
+
+  private static boolean equal(double a, double b) {
+    return Double.doubleToLongBits(a) == Double.doubleToLongBits(b);
+  }
+
+  private static int hashCode(double value) {
+    long bits = Double.doubleToLongBits(value);
+    return (int) (bits ^ (bits >>> 32));
+  }
+
+  private final class AsList extends AbstractList<Double> implements RandomAccess {
+
+    @Override
+    public Double get(int index) {
+      return DoubleArrayList.this.get(index);
+    }
+
+    @Override
+    public Double set(int index, Double element) {
+      return DoubleArrayList.this.set(index, checkNotNull(element));
+    }
+
+    @Override
+    public void add(int index, Double element) {
+      DoubleArrayList.this.add(index, checkNotNull(element));
+    }
+
+    @Override
+    public Double remove(int index) {
+      return removeAt(index);
+    }
+
+    @Override
+    public void clear() {
+      DoubleArrayList.this.clear();
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public boolean contains(Object object) {
+      return indexOf(object) >= 0;
+    }
+
+    @Override
+    public int indexOf(Object object) {
+      return object instanceof Double ? DoubleArrayList.this.indexOf((Double) object) : -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object object) {
+      return object instanceof Double ? DoubleArrayList.this.lastIndexOf((Double) object) : -1;
+    }
+
+    void modified() {
+      modCount++;
+    }
+  }
+}
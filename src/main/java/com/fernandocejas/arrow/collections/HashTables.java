@@ -0,0 +1,83 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.collections;
+
+import static com.fernandocejas.arrow.checks.Preconditions.checkArgument;
+import static com.fernandocejas.arrow.checks.Preconditions.checkState;
+
+/**
+ * Sizing and hashing shared by the open-addressing primitive hash tables, such as {@link
+ * IntHashSet} and {@link LongObjectHashMap}.
+ */
+final class HashTables {
+
+  static final int DEFAULT_EXPECTED_SIZE = 16;
+  static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+  private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+  static void checkLoadFactor(float loadFactor) {
+    checkArgument(loadFactor > 0 && loadFactor < 1,
+        "loadFactor (%s) must be between 0 and 1, exclusive", loadFactor);
+  }
+
+  /**
+   * Returns the power of two table capacity which holds {@code expectedSize} entries without
+   * growing, always leaving a slot free so that probing terminates.
+   */
+  static int capacity(int expectedSize, float loadFactor) {
+    long needed = (long) Math.ceil(expectedSize / (double) loadFactor) + 1;
+    checkArgument(needed <= MAXIMUM_CAPACITY, "expectedSize (%s) is too large", expectedSize);
+    return Math.max(2, Integer.highestOneBit((int) needed - 1) << 1);
+  }
+
+  /**
+   * Returns the capacity of a full table of {@code capacity} slots once doubled.
+   */
+  static int grow(int capacity) {
+    checkState(capacity < MAXIMUM_CAPACITY, "hash table is full");
+    return capacity << 1;
+  }
+
+  /**
+   * Returns the number of entries a table of {@code capacity} slots holds before it needs to grow.
+   */
+  static int threshold(int capacity, float loadFactor) {
+    return Math.min(capacity - 1, (int) (capacity * loadFactor));
+  }
+
+  /**
+   * Spreads the bits of {@code key}, so that keys differing only in their high bits, or forming a
+   * sequence, do not all collide or cluster in a table indexed by the low bits.
+   */
+  static int mix(int key) {
+    int hash = key * 0x9E3779B9;
+    return hash ^ (hash >>> 16);
+  }
+
+  /**
+   * Spreads the bits of {@code key} as {@link #mix(int)} does.
+   */
+  static int mix(long key) {
+    long hash = key * 0x9E3779B97F4A7C15L;
+    hash ^= hash >>> 32;
+    return (int) (hash ^ (hash >>> 16));
+  }
+
+  private HashTables() {
+    // no instances
+  }
+}
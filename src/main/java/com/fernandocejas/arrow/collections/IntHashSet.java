@@ -0,0 +1,311 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.collections;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import org.jetbrains.annotations.Nullable;
+
+import static com.fernandocejas.arrow.checks.Preconditions.checkArgument;
+
+/**
+ * A set of {@code int} values, stored without boxing in a single {@code int[]} hash table.
+ *
+ * <p>A {@code HashSet<Integer>} allocates a {@link Integer} and a map entry for every element,
+ * about 52 bytes on a 64-bit JVM with compressed references, and follows two references on
+ * every lookup. This set stores the values themselves in an open-addressing table with linear
+ * probing, so an element takes 4 bytes divided by the load factor, and a lookup usually
+ * reads a single cache line. Removals shift the following entries back instead of leaving
+ * tombstones, so the table never degrades.
+ *
+ * <p>Like {@link java.util.HashSet}, this class is not thread safe.
+ *
+ * @see com.fernandocejas.arrow.functions.Predicates#in(IntHashSet)
+ */
+public final class IntHashSet implements Serializable {
+  private static final long serialVersionUID = 0;
+
+  /**
+   * Marks the free slots of the table, so whether the set contains it is held apart.
+   */
+  private static final int FREE = 0;
+
+  private final float loadFactor;
+  private int[] keys;
+  private int mask;
+  private int threshold;
+  private boolean containsFree;
+  private int size;
+
+  /**
+   * Creates an empty set with the default expected size and a load factor of 0.75.
+   */
+  public IntHashSet() {
+    this(HashTables.DEFAULT_EXPECTED_SIZE, HashTables.DEFAULT_LOAD_FACTOR);
+  }
+
+  /**
+   * Creates an empty set which holds {@code expectedSize} elements before it needs to grow, with a
+   * load factor of 0.75.
+   *
+   * @throws IllegalArgumentException if {@code expectedSize} is negative
+   */
+  public IntHashSet(int expectedSize) {
+    this(expectedSize, HashTables.DEFAULT_LOAD_FACTOR);
+  }
+
+  /**
+   * Creates an empty set which holds {@code expectedSize} elements before it needs to grow, and
+   * then grows whenever the table is more than {@code loadFactor} full. A higher load factor takes
+   * less memory, and makes the lookups of absent elements probe longer.
+   *
+   * @throws IllegalArgumentException if {@code expectedSize} is negative, or if {@code loadFactor}
+   * is not between 0 and 1, exclusive
+   */
+  public IntHashSet(int expectedSize, float loadFactor) {
+    checkArgument(expectedSize >= 0, "expectedSize (%s) must not be negative", expectedSize);
+    HashTables.checkLoadFactor(loadFactor);
+    this.loadFactor = loadFactor;
+    allocate(HashTables.capacity(expectedSize, loadFactor));
+  }
+
+  /**
+   * Returns the number of elements in this set.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns {@code true} if this set contains no elements.
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns {@code true} if this set contains {@code value}.
+   */
+  public boolean contains(int value) {
+    if (value == FREE) {
+      return containsFree;
+    }
+    int[] keys = this.keys;
+    int mask = this.mask;
+    for (int slot = HashTables.mix(value) & mask; ; slot = (slot + 1) & mask) {
+      int key = keys[slot];
+      if (key == value) {
+        return true;
+      }
+      if (key == FREE) {
+        return false;
+      }
+    }
+  }
+
+  /**
+   * Adds {@code value} to this set.
+   *
+   * @return {@code true} if this set did not already contain {@code value}
+   */
+  public boolean add(int value) {
+    if (value == FREE) {
+      if (containsFree) {
+        return false;
+      }
+      containsFree = true;
+      size++;
+      return true;
+    }
+    int slot = HashTables.mix(value) & mask;
+    for (int key; (key = keys[slot]) != FREE; slot = (slot + 1) & mask) {
+      if (key == value) {
+        return false;
+      }
+    }
+    if (size >= threshold) {
+      // grow before storing, so that a table which cannot grow is left unchanged
+      rehash(HashTables.grow(keys.length));
+      slot = freeSlot(value);
+    }
+    keys[slot] = value;
+    size++;
+    return true;
+  }
+
+  /**
+   * Adds all of {@code values} to this set, growing it at most once.
+   *
+   * @return {@code true} if this set changed as a result
+   */
+  public boolean addAll(int[] values) {
+    ensureCapacity(size + values.length);
+    boolean changed = false;
+    for (int value : values) {
+      changed |= add(value);
+    }
+    return changed;
+  }
+
+  /**
+   * Removes {@code value} from this set.
+   *
+   * @return {@code true} if this set contained {@code value}
+   */
+  public boolean remove(int value) {
+    if (value == FREE) {
+      if (!containsFree) {
+        return false;
+      }
+      containsFree = false;
+      size--;
+      return true;
+    }
+    for (int slot = HashTables.mix(value) & mask; ; slot = (slot + 1) & mask) {
+      int key = keys[slot];
+      if (key == value) {
+        shiftBack(slot);
+        size--;
+        return true;
+      }
+      if (key == FREE) {
+        return false;
+      }
+    }
+  }
+
+  /**
+   * Removes all of the elements from this set, keeping the capacity of its table.
+   */
+  public void clear() {
+    Arrays.fill(keys, FREE);
+    containsFree = false;
+    size = 0;
+  }
+
+  /**
+   * Makes sure this set holds at least {@code expectedSize} elements before it needs to grow.
+   */
+  public void ensureCapacity(int expectedSize) {
+    if (expectedSize > threshold) {
+      rehash(HashTables.capacity(expectedSize, loadFactor));
+    }
+  }
+
+  /**
+   * Returns a new array containing the elements of this set, in no particular order.
+   */
+  public int[] toArray() {
+    int[] result = new int[size];
+    int index = 0;
+    if (containsFree) {
+      result[index++] = FREE;
+    }
+    for (int key : keys) {
+      if (key != FREE) {
+        result[index++] = key;
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public boolean equals(@Nullable Object object) {
+    if (object == this) {
+      return true;
+    }
+    if (!(object instanceof IntHashSet)) {
+      return false;
+    }
+    IntHashSet that = (IntHashSet) object;
+    if (size != that.size || containsFree != that.containsFree) {
+      return false;
+    }
+    for (int key : keys) {
+      if (key != FREE && !that.contains(key)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the same hash code as a {@link java.util.Set} of the boxed elements.
+   */
+  @Override
+  public int hashCode() {
+    int result = 0;
+    for (int key : keys) {
+      result += key;
+    }
+    return result;
+  }
+
+  /**
+   * Returns the elements of this set in the same format as {@link
+   * java.util.AbstractCollection}, in no particular order.
+   */
+  @Override
+  public String toString() {
+    return Arrays.toString(toArray());
+  }
+
+  private void allocate(int capacity) {
+    keys = new int[capacity];
+    mask = capacity - 1;
+    threshold = HashTables.threshold(capacity, loadFactor);
+  }
+
+  private void rehash(int capacity) {
+    int[] oldKeys = keys;
+    allocate(capacity);
+    for (int key : oldKeys) {
+      if (key != FREE) {
+        keys[freeSlot(key)] = key;
+      }
+    }
+  }
+
+  /**
+   * Returns the first free slot of the probe sequence of {@code key}, which is not in the table.
+   */
+  private int freeSlot(int key) {
+    int slot = HashTables.mix(key) & mask;
+    while (keys[slot] != FREE) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  /**
+   * Frees {@code slot}, moving back into it any following entry whose probe sequence passes
+   * through it, so that lookups never stop at a gap before reaching their key.
+   */
+  private void shiftBack(int slot) {
+    for (int next = (slot + 1) & mask; ; next = (next + 1) & mask) {
+      int key = keys[next];
+      if (key == FREE) {
+        keys[slot] = FREE;
+        return;
+      }
+      int home = HashTables.mix(key) & mask;
+      if (((next - home) & mask) >= ((next - slot) & mask)) {
+        keys[slot] = key;
+        slot = next;
+      }
+    }
+  }
+}
@@ -98,6 +98,10 @@ public final class Lists {
   /**
    * Creates a <i>mutable</i> {@code ArrayList} instance containing the given
    * primitive elements.
+   *
+   * <p><b>Performance note:</b> every element is boxed into its own {@link
+   * Integer}. Use {@link #newIntList(int...)} unless you need an {@code
+   * ArrayList} itself.
    */
   @SuppressWarnings("PMD.LooseCoupling") // we want the concrete type
   public static ArrayList<Integer> newArrayList(int[] elements) {
@@ -108,6 +112,39 @@ public final class Lists {
     return list;
   }
 
+  /**
+   * Creates a <i>mutable</i> {@link IntArrayList} containing the given
+   * elements, without boxing them. Use {@link IntArrayList#asList()} where a
+   * {@code List} is needed.
+   */
+  public static IntArrayList newIntList(int... elements) {
+    IntArrayList list = new IntArrayList(elements.length);
+    list.addAll(elements);
+    return list;
+  }
+
+  /**
+   * Creates a <i>mutable</i> {@link LongArrayList} containing the given
+   * elements, without boxing them. Use {@link LongArrayList#asList()} where a
+   * {@code List} is needed.
+   */
+  public static LongArrayList newLongList(long... elements) {
+    LongArrayList list = new LongArrayList(elements.length);
+    list.addAll(elements);
+    return list;
+  }
+
+  /**
+   * Creates a <i>mutable</i> {@link DoubleArrayList} containing the given
+   * elements, without boxing them. Use {@link DoubleArrayList#asList()} where a
+   * {@code List} is needed.
+   */
+  public static DoubleArrayList newDoubleList(double... elements) {
+    DoubleArrayList list = new DoubleArrayList(elements.length);
+    list.addAll(elements);
+    return list;
+  }
+
   /**
    * Creates a <i>mutable</i> {@code LinkedList} instance containing the given
    * elements; a very thin shortcut for creating an empty list then calling
@@ -0,0 +1,312 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.collections;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import org.jetbrains.annotations.Nullable;
+
+import static com.fernandocejas.arrow.checks.Preconditions.checkArgument;
+import static com.fernandocejas.arrow.checks.Preconditions.checkNotNull;
+
+/**
+ * A map from {@code long} keys to non-null values, stored without boxing the keys and without an
+ * entry object per mapping.
+ *
+ * <p>A {@code HashMap<Long, V>} allocates a {@link Long} and an entry for every mapping,
+ * about 60 bytes on a 64-bit JVM with compressed references besides the value itself. This
+ * map keeps the keys in a {@code long[]} and the values in a parallel array, in an open-addressing
+ * table with linear probing, so a mapping takes 12 bytes divided by the load factor. Removals
+ * shift the following mappings back instead of leaving tombstones, so the table never degrades.
+ *
+ * <p>A {@code null} value marks a free slot, which is why this map does not accept {@code null}
+ * values and why {@link #get(long)} returns {@code null} for the keys it does not contain.
+ *
+ * <p>Like {@link java.util.HashMap}, this class is not thread safe.
+ */
+public final class LongObjectHashMap<V> implements Serializable {
+  private static final long serialVersionUID = 0;
+
+  private final float loadFactor;
+  private long[] keys;
+  private Object[] values;
+  private int mask;
+  private int threshold;
+  private int size;
+
+  /**
+   * Creates an empty map with the default expected size and a load factor of 0.75.
+   */
+  public LongObjectHashMap() {
+    this(HashTables.DEFAULT_EXPECTED_SIZE, HashTables.DEFAULT_LOAD_FACTOR);
+  }
+
+  /**
+   * Creates an empty map which holds {@code expectedSize} mappings before it needs to grow, with a
+   * load factor of 0.75.
+   *
+   * @throws IllegalArgumentException if {@code expectedSize} is negative
+   */
+  public LongObjectHashMap(int expectedSize) {
+    this(expectedSize, HashTables.DEFAULT_LOAD_FACTOR);
+  }
+
+  /**
+   * Creates an empty map which holds {@code expectedSize} mappings before it needs to grow, and
+   * then grows whenever the table is more than {@code loadFactor} full. A higher load factor takes
+   * less memory, and makes the lookups of absent keys probe longer.
+   *
+   * @throws IllegalArgumentException if {@code expectedSize} is negative, or if {@code loadFactor}
+   * is not between 0 and 1, exclusive
+   */
+  public LongObjectHashMap(int expectedSize, float loadFactor) {
+    checkArgument(expectedSize >= 0, "expectedSize (%s) must not be negative", expectedSize);
+    HashTables.checkLoadFactor(loadFactor);
+    this.loadFactor = loadFactor;
+    allocate(HashTables.capacity(expectedSize, loadFactor));
+  }
+
+  /**
+   * Returns the number of mappings in this map.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns {@code true} if this map contains no mappings.
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns {@code true} if this map contains a mapping for {@code key}.
+   */
+  public boolean containsKey(long key) {
+    return get(key) != null;
+  }
+
+  /**
+   * Returns the value {@code key} is mapped to, or {@code null} if this map contains no mapping for
+   * it.
+   */
+  @Nullable
+  @SuppressWarnings("unchecked") // only values of type V are ever stored
+  public V get(long key) {
+    long[] keys = this.keys;
+    Object[] values = this.values;
+    int mask = this.mask;
+    for (int slot = HashTables.mix(key) & mask; ; slot = (slot + 1) & mask) {
+      Object value = values[slot];
+      if (value == null || keys[slot] == key) {
+        return (V) value;
+      }
+    }
+  }
+
+  /**
+   * Returns the value {@code key} is mapped to, or {@code defaultValue} if this map contains no
+   * mapping for it.
+   */
+  @Nullable
+  public V getOrDefault(long key, @Nullable V defaultValue) {
+    V value = get(key);
+    return value != null ? value : defaultValue;
+  }
+
+  /**
+   * Maps {@code key} to {@code value}, replacing the value it was mapped to, if any.
+   *
+   * @return the value {@code key} was mapped to, or {@code null} if there was none
+   * @throws NullPointerException if {@code value} is null
+   */
+  @Nullable
+  @SuppressWarnings("unchecked") // only values of type V are ever stored
+  public V put(long key, V value) {
+    checkNotNull(value);
+    int slot = HashTables.mix(key) & mask;
+    for (Object previous; (previous = values[slot]) != null; slot = (slot + 1) & mask) {
+      if (keys[slot] == key) {
+        values[slot] = value;
+        return (V) previous;
+      }
+    }
+    if (size >= threshold) {
+      // grow before storing, so that a table which cannot grow is left unchanged
+      rehash(HashTables.grow(keys.length));
+      slot = freeSlot(key);
+    }
+    keys[slot] = key;
+    values[slot] = value;
+    size++;
+    return null;
+  }
+
+  /**
+   * Removes the mapping for {@code key}, if any.
+   *
+   * @return the value {@code key} was mapped to, or {@code null} if there was none
+   */
+  @Nullable
+  @SuppressWarnings("unchecked") // only values of type V are ever stored
+  public V remove(long key) {
+    for (int slot = HashTables.mix(key) & mask; ; slot = (slot + 1) & mask) {
+      Object value = values[slot];
+      if (value == null) {
+        return null;
+      }
+      if (keys[slot] == key) {
+        shiftBack(slot);
+        size--;
+        return (V) value;
+      }
+    }
+  }
+
+  /**
+   * Removes all of the mappings from this map, keeping the capacity of its table.
+   */
+  public void clear() {
+    Arrays.fill(values, null);
+    size = 0;
+  }
+
+  /**
+   * Makes sure this map holds at least {@code expectedSize} mappings before it needs to grow.
+   */
+  public void ensureCapacity(int expectedSize) {
+    if (expectedSize > threshold) {
+      rehash(HashTables.capacity(expectedSize, loadFactor));
+    }
+  }
+
+  /**
+   * Returns a new array containing the keys of this map, in no particular order.
+   */
+  public long[] keys() {
+    long[] result = new long[size];
+    int index = 0;
+    for (int slot = 0; slot < values.length; slot++) {
+      if (values[slot] != null) {
+        result[index++] = keys[slot];
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public boolean equals(@Nullable Object object) {
+    if (object == this) {
+      return true;
+    }
+    if (!(object instanceof LongObjectHashMap)) {
+      return false;
+    }
+    LongObjectHashMap<?> that = (LongObjectHashMap<?>) object;
+    if (size != that.size) {
+      return false;
+    }
+    for (int slot = 0; slot < values.length; slot++) {
+      if (values[slot] != null && !values[slot].equals(that.get(keys[slot]))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the same hash code as a {@link java.util.Map} of the boxed keys to the same values.
+   */
+  @Override
+  public int hashCode() {
+    int result = 0;
+    for (int slot = 0; slot < values.length; slot++) {
+      if (values[slot] != null) {
+        result += (int) (keys[slot] ^ (keys[slot] >>> 32)) ^ values[slot].hashCode();
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the mappings of this map in the same format as {@link java.util.AbstractMap}, in no
+   * particular order.
+   */
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder().append('{');
+    for (int slot = 0; slot < values.length; slot++) {
+      if (values[slot] != null) {
+        if (builder.length() > 1) {
+          builder.append(", ");
+        }
+        builder.append(keys[slot]).append('=').append(values[slot]);
+      }
+    }
+    return builder.append('}').toString();
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    values = new Object[capacity];
+    mask = capacity - 1;
+    threshold = HashTables.threshold(capacity, loadFactor);
+  }
+
+  private void rehash(int capacity) {
+    long[] oldKeys = keys;
+    Object[] oldValues = values;
+    allocate(capacity);
+    for (int oldSlot = 0; oldSlot < oldValues.length; oldSlot++) {
+      if (oldValues[oldSlot] != null) {
+        int slot = freeSlot(oldKeys[oldSlot]);
+        keys[slot] = oldKeys[oldSlot];
+        values[slot] = oldValues[oldSlot];
+      }
+    }
+  }
+
+  /**
+   * Returns the first free slot of the probe sequence of {@code key}, which is not in the table.
+   */
+  private int freeSlot(long key) {
+    int slot = HashTables.mix(key) & mask;
+    while (values[slot] != null) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  /**
+   * Frees {@code slot}, moving back into it any following mapping whose probe sequence passes
+   * through it, so that lookups never stop at a gap before reaching their key.
+   */
+  private void shiftBack(int slot) {
+    for (int next = (slot + 1) & mask; ; next = (next + 1) & mask) {
+      if (values[next] == null) {
+        values[slot] = null;
+        return;
+      }
+      int home = HashTables.mix(keys[next]) & mask;
+      if (((next - home) & mask) >= ((next - slot) & mask)) {
+        keys[slot] = keys[next];
+        values[slot] = values[next];
+        slot = next;
+      }
+    }
+  }
+}
@@ -0,0 +1,148 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.collections;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Allocates, maps and frees the chunks of {@link ByteBuffer} behind {@link OffHeapLongArray} and
+ * {@link OffHeapIntArray}. A single buffer is indexed by an {@code int}, so storage beyond 2 GB is
+ * split into chunks of {@link #CHUNK_BYTES} each.
+ */
+final class OffHeapBuffers {
+
+  static final int CHUNK_SHIFT = 30;
+  static final long CHUNK_BYTES = 1L << CHUNK_SHIFT;
+  // the chunks are held in an array, so their number must fit in an int
+  static final long MAXIMUM_BYTES = (long) Integer.MAX_VALUE << CHUNK_SHIFT;
+
+  /**
+   * {@code sun.misc.Unsafe#invokeCleaner(ByteBuffer)}, which frees a direct buffer on Java 9 and
+   * later, or {@code null} before Java 9.
+   */
+  @Nullable private static final Method INVOKE_CLEANER;
+  @Nullable private static final Object UNSAFE;
+
+  static {
+    Method invokeCleaner = null;
+    Object unsafe = null;
+    try {
+      Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+      Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafe.setAccessible(true);
+      unsafe = theUnsafe.get(null);
+    } catch (Exception e) {
+      invokeCleaner = null;
+      unsafe = null;
+    }
+    INVOKE_CLEANER = invokeCleaner;
+    UNSAFE = unsafe;
+  }
+
+  /**
+   * Allocates {@code bytes} of zeroed native memory, outside of the Java heap.
+   */
+  static ByteBuffer[] allocateDirect(long bytes) {
+    ByteBuffer[] chunks = new ByteBuffer[chunkCount(bytes)];
+    try {
+      for (int i = 0; i < chunks.length; i++) {
+        chunks[i] = ByteBuffer.allocateDirect(chunkBytes(bytes, i)).order(ByteOrder.nativeOrder());
+      }
+    } catch (OutOfMemoryError e) {
+      free(chunks);
+      throw e;
+    }
+    return chunks;
+  }
+
+  /**
+   * Maps the first {@code bytes} of {@code file} into memory for reading and writing, creating
+   * the file or extending it with zeros if it is shorter.
+   */
+  static ByteBuffer[] map(File file, long bytes) throws IOException {
+    ByteBuffer[] chunks = new ByteBuffer[chunkCount(bytes)];
+    RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+    try {
+      FileChannel channel = randomAccessFile.getChannel();
+      for (int i = 0; i < chunks.length; i++) {
+        chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE, i * CHUNK_BYTES,
+            chunkBytes(bytes, i)).order(ByteOrder.nativeOrder());
+      }
+    } catch (IOException e) {
+      free(chunks);
+      throw e;
+    } finally {
+      // the mappings stay valid once the file is closed
+      randomAccessFile.close();
+    }
+    return chunks;
+  }
+
+  /**
+   * Frees the native memory or the mappings behind {@code chunks} right away, rather than once
+   * the buffers are garbage collected. Where the running JVM does not allow it, such as on
+   * Android, leaves them to the garbage collector.
+   *
+   * <p>The buffers must not be accessed afterwards: doing so reads freed memory.
+   */
+  static void free(ByteBuffer[] chunks) {
+    for (ByteBuffer chunk : chunks) {
+      if (chunk != null) {
+        free(chunk);
+      }
+    }
+  }
+
+  private static void free(ByteBuffer buffer) {
+    try {
+      if (INVOKE_CLEANER != null) {
+        INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        return;
+      }
+      Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+      cleanerMethod.setAccessible(true);
+      Object cleaner = cleanerMethod.invoke(buffer);
+      if (cleaner != null) {
+        Method cleanMethod = cleaner.getClass().getMethod("clean");
+        cleanMethod.setAccessible(true);
+        cleanMethod.invoke(cleaner);
+      }
+    } catch (Exception e) {
+      // not supported by this runtime: the garbage collector frees the buffer instead
+    }
+  }
+
+  private static int chunkCount(long bytes) {
+    return (int) ((bytes + CHUNK_BYTES - 1) >>> CHUNK_SHIFT);
+  }
+
+  private static int chunkBytes(long bytes, int chunk) {
+    return (int) Math.min(CHUNK_BYTES, bytes - chunk * CHUNK_BYTES);
+  }
+
+  private OffHeapBuffers() {
+    // no instances
+  }
+}
@@ -0,0 +1,188 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.collections;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+import static com.fernandocejas.arrow.checks.Preconditions.checkArgument;
+import static com.fernandocejas.arrow.checks.Preconditions.checkNotNull;
+import static com.fernandocejas.arrow.checks.Preconditions.checkState;
+
+/**
+ * A fixed-length array of {@code long} values stored outside of the Java heap, either in native
+ * memory or in a memory-mapped file, so that large arrays add neither to the heap size nor to the
+ * garbage collection pauses.
+ *
+ * <p>The values are stored in the native byte order, in chunks of 1 GB, so the length of the array
+ * is not limited to {@link Integer#MAX_VALUE}. Use {@link #asList()} to pass an array of up to
+ * {@link Integer#MAX_VALUE} elements to code which works on lists, such as {@link
+ * Lists#partition(List, int)} and {@link Lists#reverse(List)}.
+ *
+ * <p>{@link #close()} frees the memory or the mapping right away instead of waiting for the
+ * garbage collector, after which the array and its views throw {@link IllegalStateException}. The
+ * array must not be closed while other threads are still accessing it. Like a plain array, it is
+ * otherwise safe to read from several threads, but writes need external synchronization to be
+ * seen by them.
+ */
+public final class OffHeapLongArray implements Closeable {
+
+  private static final int BYTE_SHIFT = 3;
+  private static final int CHUNK_SHIFT = OffHeapBuffers.CHUNK_SHIFT - BYTE_SHIFT;
+  private static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+  private static final long MAXIMUM_LENGTH = OffHeapBuffers.MAXIMUM_BYTES >>> BYTE_SHIFT;
+
+  private ByteBuffer[] chunks;
+  private long length;
+  private boolean closed;
+
+  private OffHeapLongArray(ByteBuffer[] chunks, long length) {
+    this.chunks = chunks;
+    this.length = length;
+  }
+
+  /**
+   * Allocates an array of {@code length} zeros in native memory. The memory counts against the
+   * limit set by {@code -XX:MaxDirectMemorySize}.
+   *
+   * @throws IllegalArgumentException if {@code length} is negative, or too large to be split into
+   * at most {@link Integer#MAX_VALUE} chunks
+   * @throws OutOfMemoryError if there is not enough native memory left
+   */
+  public static OffHeapLongArray allocateDirect(long length) {
+    checkLength(length);
+    return new OffHeapLongArray(OffHeapBuffers.allocateDirect(length << BYTE_SHIFT), length);
+  }
+
+  /**
+   * Maps an array of {@code length} elements onto the start of {@code file}, creating the file or
+   * extending it with zeros if it is shorter. Writes to the array are written to the file by the
+   * operating system.
+   *
+   * @throws IllegalArgumentException if {@code length} is negative, or too large to be split into
+   * at most {@link Integer#MAX_VALUE} chunks
+   * @throws IOException if the file cannot be opened, extended or mapped
+   */
+  public static OffHeapLongArray map(File file, long length) throws IOException {
+    checkNotNull(file);
+    checkLength(length);
+    return new OffHeapLongArray(OffHeapBuffers.map(file, length << BYTE_SHIFT), length);
+  }
+
+  /**
+   * Returns the number of elements in this array.
+   */
+  public long length() {
+    return length;
+  }
+
+  /**
+   * Returns the element at {@code index}.
+   *
+   * @throws IndexOutOfBoundsException if {@code index} is negative or not less than {@link
+   * #length()}
+   * @throws IllegalStateException if this array is closed
+   */
+  public long get(long index) {
+    checkIndex(index);
+    return chunks[(int) (index >>> CHUNK_SHIFT)].getLong(((int) index & CHUNK_MASK) << BYTE_SHIFT);
+  }
+
+  /**
+   * Replaces the element at {@code index} with {@code value}.
+   *
+   * @throws IndexOutOfBoundsException if {@code index} is negative or not less than {@link
+   * #length()}
+   * @throws IllegalStateException if this array is closed
+   */
+  public void set(long index, long value) {
+    checkIndex(index);
+    chunks[(int) (index >>> CHUNK_SHIFT)].putLong(((int) index & CHUNK_MASK) << BYTE_SHIFT, value);
+  }
+
+  /**
+   * Returns a fixed-size {@link List} view of this array, like {@link java.util.Arrays#asList}
+   * returns for an object array. The view supports {@link List#set(int, Object)}, boxes each
+   * element it returns, and implements {@link RandomAccess}.
+   *
+   * @throws IllegalStateException if this array is closed or is longer than {@link
+   * Integer#MAX_VALUE}
+   */
+  public List<Long> asList() {
+    checkState(!closed, "array is closed");
+    checkState(length <= Integer.MAX_VALUE, "length (%s) is too large for a list", length);
+    return new AsList();
+  }
+
+  /**
+   * Frees the native memory or unmaps the file behind this array. Does nothing if it is already
+   * closed.
+   */
+  @Override
+  public void close() {
+    if (!closed) {
+      closed = true;
+      ByteBuffer[] freed = chunks;
+      chunks = new ByteBuffer[0];
+      length = 0;
+      OffHeapBuffers.free(freed);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return closed ? "OffHeapLongArray[closed]" : "OffHeapLongArray[length=" + length + "]";
+  }
+
+  private static void checkLength(long length) {
+    checkArgument(length >= 0 && length <= MAXIMUM_LENGTH, "length (%s) is out of range", length);
+  }
+
+  private void checkIndex(long index) {
+    // a closed array has no length, so the single comparison also rejects it
+    if (index < 0 || index >= length) {
+      checkState(!closed, "array is closed");
+      throw new IndexOutOfBoundsException(
+          "index (" + index + ") must be less than length (" + length + ")");
+    }
+  }
+
+  private final class AsList extends AbstractList<Long> implements RandomAccess {
+
+    @Override
+    public Long get(int index) {
+      return OffHeapLongArray.this.get(index);
+    }
+
+    @Override
+    public Long set(int index, Long element) {
+      long previous = OffHeapLongArray.this.get(index);
+      OffHeapLongArray.this.set(index, checkNotNull(element));
+      return previous;
+    }
+
+    @Override
+    public int size() {
+      checkState(!closed, "array is closed");
+      return (int) length;
+    }
+  }
+}
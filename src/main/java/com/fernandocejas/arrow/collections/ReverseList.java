@@ -23,9 +23,9 @@ import java.util.NoSuchElementException;
 import org.jetbrains.annotations.Nullable;
 
 import static com.fernandocejas.arrow.checks.Preconditions.checkElementIndex;
+import static com.fernandocejas.arrow.checks.Preconditions.checkFromToIndex;
 import static com.fernandocejas.arrow.checks.Preconditions.checkNotNull;
 import static com.fernandocejas.arrow.checks.Preconditions.checkPositionIndex;
-import static com.fernandocejas.arrow.checks.Preconditions.checkPositionIndexes;
 import static com.fernandocejas.arrow.checks.Preconditions.checkState;
 
 class ReverseList<T> extends AbstractList<T> {
@@ -88,7 +88,7 @@ class ReverseList<T> extends AbstractList<T> {
 
   @Override
   public List<T> subList(int fromIndex, int toIndex) {
-    checkPositionIndexes(fromIndex, toIndex, size());
+    checkFromToIndex(fromIndex, toIndex, size());
     return Lists.reverse(forwardList.subList(
         reversePosition(toIndex), reversePosition(fromIndex)));
   }
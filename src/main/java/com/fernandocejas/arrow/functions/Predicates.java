@@ -15,6 +15,8 @@
  */
 package com.fernandocejas.arrow.functions;
 
+import com.fernandocejas.arrow.collections.IntHashSet;
+import com.fernandocejas.arrow.collections.LongHashSet;
 import com.fernandocejas.arrow.objects.MoreObjects;
 import com.fernandocejas.arrow.strings.Joiner;
 import com.fernandocejas.arrow.strings.Strings;
@@ -218,6 +220,32 @@ public final class Predicates {
     return new InPredicate<>(target);
   }
 
+  /**
+   * Returns a predicate that evaluates to {@code true} if the {@code int} being
+   * tested is a member of the given set. Unlike {@link #in(Collection)} over a
+   * {@code Set<Integer>}, neither building the set nor testing against it boxes
+   * the values. It does not defensively copy the set passed in, so future
+   * changes to it will alter the behavior of the predicate.
+   *
+   * @param target the set that may contain the predicate input
+   */
+  public static IntPredicate in(IntHashSet target) {
+    return new InIntSetPredicate(target);
+  }
+
+  /**
+   * Returns a predicate that evaluates to {@code true} if the {@code long} being
+   * tested is a member of the given set. Unlike {@link #in(Collection)} over a
+   * {@code Set<Long>}, neither building the set nor testing against it boxes
+   * the values. It does not defensively copy the set passed in, so future
+   * changes to it will alter the behavior of the predicate.
+   *
+   * @param target the set that may contain the predicate input
+   */
+  public static LongPredicate in(LongHashSet target) {
+    return new InLongSetPredicate(target);
+  }
+
   /**
    * Returns the composition of a function and a predicate. For every {@code x},
    * the generated predicate returns {@code predicate(function(x))}.
@@ -605,6 +633,80 @@ public final class Predicates {
     }
   }
 
+  /**
+   * @see Predicates#in(IntHashSet)
+   */
+  private static class InIntSetPredicate implements IntPredicate, Serializable {
+    private static final long serialVersionUID = 0;
+
+    private final IntHashSet target;
+
+    InIntSetPredicate(IntHashSet target) {
+      this.target = checkNotNull(target);
+    }
+
+    @Override
+    public boolean apply(int input) {
+      return target.contains(input);
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+      if (obj instanceof InIntSetPredicate) {
+        InIntSetPredicate that = (InIntSetPredicate) obj;
+        return target.equals(that.target);
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return target.hashCode();
+    }
+
+    @Override
+    public String toString() {
+      return "Predicates.in(" + target + ")";
+    }
+  }
+
+  /**
+   * @see Predicates#in(LongHashSet)
+   */
+  private static class InLongSetPredicate implements LongPredicate, Serializable {
+    private static final long serialVersionUID = 0;
+
+    private final LongHashSet target;
+
+    InLongSetPredicate(LongHashSet target) {
+      this.target = checkNotNull(target);
+    }
+
+    @Override
+    public boolean apply(long input) {
+      return target.contains(input);
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+      if (obj instanceof InLongSetPredicate) {
+        InLongSetPredicate that = (InLongSetPredicate) obj;
+        return target.equals(that.target);
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return target.hashCode();
+    }
+
+    @Override
+    public String toString() {
+      return "Predicates.in(" + target + ")";
+    }
+  }
+
   /**
    * @see Predicates#compose(Predicate, Function)
    */
@@ -16,6 +16,7 @@
 package com.fernandocejas.arrow.objects;
 
 import com.fernandocejas.arrow.optional.Optional;
+import com.fernandocejas.arrow.strings.StringBuilders;
 import java.util.Arrays;
 import org.jetbrains.annotations.Nullable;
 
@@ -385,7 +386,7 @@ public final class MoreObjects {
       // create a copy to keep it consistent in case value changes
       boolean omitNullValuesSnapshot = omitNullValues;
       String nextSeparator = "";
-      StringBuilder builder = new StringBuilder(32).append(className)
+      StringBuilder builder = StringBuilders.acquire(32).append(className)
           .append('{');
       for (ValueHolder valueHolder = holderHead.next; valueHolder != null;
           valueHolder = valueHolder.next) {
@@ -399,7 +400,7 @@ public final class MoreObjects {
           builder.append(valueHolder.value);
         }
       }
-      return builder.append('}').toString();
+      return StringBuilders.release(builder.append('}'));
     }
 
     private ValueHolder addHolder() {
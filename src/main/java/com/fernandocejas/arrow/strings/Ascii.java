@@ -0,0 +1,233 @@
+/**
+ * Copyright (C) 2010 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.strings;
+
+/**
+ * Static methods pertaining to ASCII characters (those in the range of values {@code 0x00}
+ * through {@code 0x7F}), and to strings containing such characters.
+ *
+ * <p>Unlike {@link String#toLowerCase()} and {@link String#toUpperCase()}, the case conversions in
+ * this class only change the letters {@code 'a'} to {@code 'z'} and {@code 'A'} to {@code 'Z'},
+ * whatever the default locale, which makes them suitable for protocol elements such as header
+ * names and keys. They return the given string itself when it has nothing to convert, and
+ * {@link #equalsIgnoreCase} and {@link #hashCodeIgnoreCase} compare and hash any
+ * {@link CharSequence} without converting it at all.
+ *
+ * <p><b>This class contains code derived from <a href="https://github.com/google/guava">Google
+ * Guava</a></b>
+ *
+ * @author Catherine Berry
+ * @author Gregory Kick
+ */
+public final class Ascii {
+
+  /**
+   * A bit mask which selects the bit encoding ASCII character case.
+   */
+  private static final char CASE_MASK = 0x20;
+
+  /**
+   * Returns a copy of the input string in which all {@linkplain #isUpperCase(char) uppercase ASCII
+   * characters} have been converted to lowercase. All other characters are copied without
+   * modification. If there are no uppercase ASCII characters, {@code string} itself is returned.
+   */
+  public static String toLowerCase(String string) {
+    int length = string.length();
+    for (int i = 0; i < length; i++) {
+      if (isUpperCase(string.charAt(i))) {
+        char[] chars = string.toCharArray();
+        for (; i < length; i++) {
+          char c = chars[i];
+          if (isUpperCase(c)) {
+            chars[i] = (char) (c ^ CASE_MASK);
+          }
+        }
+        return String.valueOf(chars);
+      }
+    }
+    return string;
+  }
+
+  /**
+   * Returns a copy of the input character sequence in which all {@linkplain #isUpperCase(char)
+   * uppercase ASCII characters} have been converted to lowercase. All other characters are copied
+   * without modification.
+   */
+  public static String toLowerCase(CharSequence chars) {
+    if (chars instanceof String) {
+      return toLowerCase((String) chars);
+    }
+    char[] newChars = new char[chars.length()];
+    for (int i = 0; i < newChars.length; i++) {
+      newChars[i] = toLowerCase(chars.charAt(i));
+    }
+    return String.valueOf(newChars);
+  }
+
+  /**
+   * If the argument is an {@linkplain #isUpperCase(char) uppercase ASCII character} returns the
+   * lowercase equivalent. Otherwise returns the argument.
+   */
+  public static char toLowerCase(char c) {
+    return isUpperCase(c) ? (char) (c ^ CASE_MASK) : c;
+  }
+
+  /**
+   * Returns a copy of the input string in which all {@linkplain #isLowerCase(char) lowercase ASCII
+   * characters} have been converted to uppercase. All other characters are copied without
+   * modification. If there are no lowercase ASCII characters, {@code string} itself is returned.
+   */
+  public static String toUpperCase(String string) {
+    int length = string.length();
+    for (int i = 0; i < length; i++) {
+      if (isLowerCase(string.charAt(i))) {
+        char[] chars = string.toCharArray();
+        for (; i < length; i++) {
+          char c = chars[i];
+          if (isLowerCase(c)) {
+            chars[i] = (char) (c ^ CASE_MASK);
+          }
+        }
+        return String.valueOf(chars);
+      }
+    }
+    return string;
+  }
+
+  /**
+   * Returns a copy of the input character sequence in which all {@linkplain #isLowerCase(char)
+   * lowercase ASCII characters} have been converted to uppercase. All other characters are copied
+   * without modification.
+   */
+  public static String toUpperCase(CharSequence chars) {
+    if (chars instanceof String) {
+      return toUpperCase((String) chars);
+    }
+    char[] newChars = new char[chars.length()];
+    for (int i = 0; i < newChars.length; i++) {
+      newChars[i] = toUpperCase(chars.charAt(i));
+    }
+    return String.valueOf(newChars);
+  }
+
+  /**
+   * If the argument is a {@linkplain #isLowerCase(char) lowercase ASCII character} returns the
+   * uppercase equivalent. Otherwise returns the argument.
+   */
+  public static char toUpperCase(char c) {
+    return isLowerCase(c) ? (char) (c ^ CASE_MASK) : c;
+  }
+
+  /**
+   * Indicates whether {@code c} is one of the twenty-six lowercase ASCII alphabetic characters
+   * between {@code 'a'} and {@code 'z'} inclusive. All others (including non-ASCII characters)
+   * return {@code false}.
+   */
+  public static boolean isLowerCase(char c) {
+    // Note: This was benchmarked against the alternate expression "(char)(c - 'a') < 26" (Nov '13)
+    // and found to perform at least as well, or better.
+    return (c >= 'a') && (c <= 'z');
+  }
+
+  /**
+   * Indicates whether {@code c} is one of the twenty-six uppercase ASCII alphabetic characters
+   * between {@code 'A'} and {@code 'Z'} inclusive. All others (including non-ASCII characters)
+   * return {@code false}.
+   */
+  public static boolean isUpperCase(char c) {
+    return (c >= 'A') && (c <= 'Z');
+  }
+
+  /**
+   * Indicates whether the contents of the given character sequences {@code s1} and {@code s2} are
+   * equal, ignoring the case of any ASCII alphabetic characters between {@code 'a'} and
+   * {@code 'z'} or {@code 'A'} and {@code 'Z'} inclusive.
+   *
+   * <p>This method is significantly faster than {@link String#equalsIgnoreCase} and should be used
+   * in preference if at least one of the parameters is known to contain only ASCII characters.
+   *
+   * <p>Note however that this method does not always behave identically to expressions such as:
+   * <ul>
+   * <li>{@code string.toUpperCase().equals("UPPER CASE ASCII")}
+   * <li>{@code string.toLowerCase().equals("lower case ascii")}
+   * </ul>
+   * <p>due to case-folding of some non-ASCII characters (which does not occur in
+   * {@link String#toUpperCase} or {@link String#toLowerCase}). The behaviour of this method is
+   * consistent with {@link #hashCodeIgnoreCase}.
+   */
+  public static boolean equalsIgnoreCase(CharSequence s1, CharSequence s2) {
+    // Calling length() is the null pointer check (so do it before we can exit early).
+    int length = s1.length();
+    if (s1 == s2) {
+      return true;
+    }
+    if (length != s2.length()) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      char c1 = s1.charAt(i);
+      char c2 = s2.charAt(i);
+      if (c1 == c2) {
+        continue;
+      }
+      int alphaIndex = getAlphaIndex(c1);
+      // This was also benchmarked using '&' to avoid branching (but always evaluate the rhs),
+      // however this showed no obvious improvement.
+      if (alphaIndex < 26 && alphaIndex == getAlphaIndex(c2)) {
+        continue;
+      }
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Returns a hash code for {@code chars} which ignores the case of ASCII alphabetic characters:
+   * sequences which are {@linkplain #equalsIgnoreCase equal ignoring case} have the same hash code.
+   * It equals {@code toLowerCase(chars).hashCode()}, without creating the lowercase string.
+   *
+   * <p>Together with {@link #equalsIgnoreCase}, this lets hash tables keyed by header names or
+   * similar case-insensitive keys look up a {@link CharSequence} as given, instead of normalizing
+   * every key to a new string first.
+   */
+  public static int hashCodeIgnoreCase(CharSequence chars) {
+    int hash = 0;
+    if (chars instanceof String) {
+      String string = (String) chars;
+      for (int i = 0, length = string.length(); i < length; i++) {
+        hash = 31 * hash + toLowerCase(string.charAt(i));
+      }
+    } else {
+      for (int i = 0, length = chars.length(); i < length; i++) {
+        hash = 31 * hash + toLowerCase(chars.charAt(i));
+      }
+    }
+    return hash;
+  }
+
+  /**
+   * Returns the non-negative index value of the alpha character {@code c}, regardless of case. Ie,
+   * 'a'/'A' returns 0 and 'z'/'Z' returns 25. Non-alpha characters return a value of 26 or greater.
+   */
+  private static int getAlphaIndex(char c) {
+    // Fold upper-case ASCII to lower-case and make zero-indexed and unsigned (by casting to char).
+    return (char) ((c | CASE_MASK) - 'a');
+  }
+
+  private Ascii() {
+    // no instances
+  }
+}
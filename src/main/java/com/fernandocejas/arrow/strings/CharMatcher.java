@@ -0,0 +1,585 @@
+/**
+ * Copyright (C) 2008 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.strings;
+
+import java.util.Arrays;
+
+import static com.fernandocejas.arrow.checks.Preconditions.checkArgument;
+import static com.fernandocejas.arrow.checks.Preconditions.checkNotNull;
+import static com.fernandocejas.arrow.checks.Preconditions.checkPositionIndex;
+
+/**
+ * Determines a true or false value for any Java {@code char} value, just as {@link
+ * com.fernandocejas.arrow.functions.Predicate} does for any {@link Object}. Also offers basic text
+ * processing methods based on this function. Example: <pre>   {@code
+ *
+ *   String trimmed = CharMatcher.whitespace().trimFrom(userInput);
+ *   if (CharMatcher.ascii().matchesAllOf(s)) { ... }}</pre>
+ *
+ * <p>Every matcher is compiled into a 128-bit table holding its answer for each ASCII character,
+ * which {@link #matches(char)} looks up with a single shift; only non-ASCII characters are tested
+ * with a slower fallback. Combining matchers with {@link #negate()}, {@link #and(CharMatcher)} and
+ * {@link #or(CharMatcher)} combines their tables with bitwise operations.
+ *
+ * <p>The text processing methods scan their input once and only allocate when the result differs
+ * from it: when nothing has to be changed, they return {@code sequence.toString()}, which is the
+ * input itself for a {@link String}.
+ *
+ * <p>Here, <i>character</i> means a single {@code char} value; supplementary characters are
+ * treated as two separate surrogate {@code char}s.
+ *
+ * <p><b>This class contains code derived from <a href="https://github.com/google/guava">Google
+ * Guava</a></b>
+ *
+ * @author Kevin Bourrillion
+ */
+public abstract class CharMatcher {
+
+  private static final CharMatcher WHITESPACE = new CharMatcher(ranges("\t\r  ")) {
+    @Override
+    boolean matchesNonAscii(char c) {
+      switch (c) {
+        case '\u0085':
+        case '\u00a0':
+        case '\u1680':
+        case '\u2028':
+        case '\u2029':
+        case '\u202f':
+        case '\u205f':
+        case '\u3000':
+          return true;
+        default:
+          return c >= '\u2000' && c <= '\u200a';
+      }
+    }
+  };
+
+  private static final CharMatcher DIGIT = new CharMatcher(ranges("09")) {
+    @Override
+    boolean matchesNonAscii(char c) {
+      return Character.isDigit(c);
+    }
+  };
+
+  private static final CharMatcher ASCII = new CharMatcher(-1L, -1L) {
+    @Override
+    boolean matchesNonAscii(char c) {
+      return false;
+    }
+  };
+
+  // bit c of low (for c < 64) or of high (for 64 <= c < 128) is set when c matches
+  private final long low;
+  private final long high;
+
+  CharMatcher(long[] table) {
+    this(table[0], table[1]);
+  }
+
+  CharMatcher(long low, long high) {
+    this.low = low;
+    this.high = high;
+  }
+
+  /**
+   * Determines whether a character is whitespace according to the latest Unicode standard, as
+   * illustrated <a href="http://unicode.org/cldr/utility/list-unicodeset.jsp?a=%5Cp%7Bwhitespace%7D">here</a>.
+   * This is not the same definition used by other Java APIs: {@link String#trim()} treats every
+   * character up to {@code ' '} as whitespace and {@link Character#isWhitespace(char)} excludes
+   * the no-break spaces.
+   */
+  public static CharMatcher whitespace() {
+    return WHITESPACE;
+  }
+
+  /**
+   * Determines whether a character is a digit according to {@link Character#isDigit(char)}, which
+   * includes the decimal digits of every script and not only {@code '0'} to {@code '9'}.
+   */
+  public static CharMatcher digit() {
+    return DIGIT;
+  }
+
+  /**
+   * Determines whether a character is ASCII, meaning that its code point is less than 128.
+   */
+  public static CharMatcher ascii() {
+    return ASCII;
+  }
+
+  /**
+   * Returns a {@code char} matcher that matches any character present in the given character
+   * sequence.
+   */
+  public static CharMatcher anyOf(CharSequence sequence) {
+    long[] table = new long[2];
+    char[] nonAscii = new char[sequence.length()];
+    int count = 0;
+    for (int i = 0; i < sequence.length(); i++) {
+      char c = sequence.charAt(i);
+      if (c < 128) {
+        table[c >> 6] |= 1L << c;
+      } else {
+        nonAscii[count++] = c;
+      }
+    }
+    nonAscii = Arrays.copyOf(nonAscii, count);
+    Arrays.sort(nonAscii);
+    return new AnyOf(table, nonAscii);
+  }
+
+  /**
+   * Returns a {@code char} matcher that matches any character in a given range (both endpoints are
+   * inclusive). For example, to match any lowercase letter of the English alphabet, use {@code
+   * CharMatcher.inRange('a', 'z')}.
+   *
+   * @throws IllegalArgumentException if {@code endInclusive < startInclusive}
+   */
+  public static CharMatcher inRange(char startInclusive, char endInclusive) {
+    checkArgument(endInclusive >= startInclusive);
+    return new InRange(startInclusive, endInclusive);
+  }
+
+  /**
+   * Returns a matcher that matches any character not matched by this matcher.
+   */
+  public CharMatcher negate() {
+    return new Negated(this);
+  }
+
+  /**
+   * Returns a matcher that matches any character matched by both this matcher and {@code other}.
+   */
+  public CharMatcher and(CharMatcher other) {
+    return new And(this, checkNotNull(other));
+  }
+
+  /**
+   * Returns a matcher that matches any character matched by either this matcher or {@code other}.
+   */
+  public CharMatcher or(CharMatcher other) {
+    return new Or(this, checkNotNull(other));
+  }
+
+  /**
+   * Determines a true or false value for the given character.
+   */
+  public final boolean matches(char c) {
+    if (c < 128) {
+      // the shift distance of a long is taken modulo 64
+      return ((c < 64 ? low : high) & (1L << c)) != 0;
+    }
+    return matchesNonAscii(c);
+  }
+
+  /**
+   * Determines a true or false value for a character which is not ASCII.
+   */
+  abstract boolean matchesNonAscii(char c);
+
+  /**
+   * Returns {@code true} if a character sequence contains at least one matching character.
+   * Equivalent to {@code !matchesNoneOf(sequence)}.
+   */
+  public boolean matchesAnyOf(CharSequence sequence) {
+    return indexIn(sequence) != -1;
+  }
+
+  /**
+   * Returns {@code true} if a character sequence contains only matching characters. Returns
+   * {@code true} for an empty sequence.
+   */
+  public boolean matchesAllOf(CharSequence sequence) {
+    for (int i = 0; i < sequence.length(); i++) {
+      if (!matches(sequence.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns {@code true} if a character sequence contains no matching characters. Equivalent to
+   * {@code !matchesAnyOf(sequence)}.
+   */
+  public boolean matchesNoneOf(CharSequence sequence) {
+    return indexIn(sequence) == -1;
+  }
+
+  /**
+   * Returns the index of the first matching character in a character sequence, or {@code -1} if
+   * no matching character is present.
+   */
+  public int indexIn(CharSequence sequence) {
+    return indexIn(sequence, 0);
+  }
+
+  /**
+   * Returns the index of the first matching character in a character sequence, starting from a
+   * given position, or {@code -1} if no character matches after that position.
+   *
+   * @throws IndexOutOfBoundsException if start is negative or greater than {@code
+   * sequence.length()}
+   */
+  public int indexIn(CharSequence sequence, int start) {
+    int length = sequence.length();
+    checkPositionIndex(start, length);
+    for (int i = start; i < length; i++) {
+      if (matches(sequence.charAt(i))) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the index of the last matching character in a character sequence, or {@code -1} if
+   * no matching character is present.
+   */
+  public int lastIndexIn(CharSequence sequence) {
+    for (int i = sequence.length() - 1; i >= 0; i--) {
+      if (matches(sequence.charAt(i))) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the number of matching characters found in a character sequence.
+   */
+  public int countIn(CharSequence sequence) {
+    int count = 0;
+    for (int i = 0; i < sequence.length(); i++) {
+      if (matches(sequence.charAt(i))) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Returns a string containing all non-matching characters of a character sequence, in order.
+   * For example: <pre>   {@code
+   *
+   *   CharMatcher.anyOf("aeiou").removeFrom("yaha")}</pre>
+   *
+   * ... returns {@code "yh"}.
+   */
+  public String removeFrom(CharSequence sequence) {
+    int position = indexIn(sequence);
+    if (position == -1) {
+      return sequence.toString();
+    }
+    int length = sequence.length();
+    char[] chars = new char[length - 1];
+    copy(sequence, position, chars);
+    int count = position;
+    for (int i = position + 1; i < length; i++) {
+      char c = sequence.charAt(i);
+      if (!matches(c)) {
+        chars[count++] = c;
+      }
+    }
+    return new String(chars, 0, count);
+  }
+
+  /**
+   * Returns a string copy of the input character sequence, with each character that matches this
+   * matcher replaced by a given replacement character. For example: <pre>   {@code
+   *
+   *   CharMatcher.anyOf("a").replaceFrom("radar", 'o')}</pre>
+   *
+   * ... returns {@code "rodor"}.
+   */
+  public String replaceFrom(CharSequence sequence, char replacement) {
+    int length = sequence.length();
+    int position = 0;
+    while (position < length) {
+      char c = sequence.charAt(position);
+      if (c != replacement && matches(c)) {
+        break;
+      }
+      position++;
+    }
+    if (position == length) {
+      return sequence.toString();
+    }
+    char[] chars = new char[length];
+    copy(sequence, position, chars);
+    for (int i = position; i < length; i++) {
+      char c = sequence.charAt(i);
+      chars[i] = matches(c) ? replacement : c;
+    }
+    return new String(chars);
+  }
+
+  /**
+   * Returns a string copy of the input character sequence, with each character that matches this
+   * matcher replaced by a given replacement sequence. For example: <pre>   {@code
+   *
+   *   CharMatcher.anyOf("a").replaceFrom("yaha", "oo")}</pre>
+   *
+   * ... returns {@code "yoohoo"}.
+   */
+  public String replaceFrom(CharSequence sequence, CharSequence replacement) {
+    int replacementLength = replacement.length();
+    if (replacementLength == 0) {
+      return removeFrom(sequence);
+    }
+    if (replacementLength == 1) {
+      return replaceFrom(sequence, replacement.charAt(0));
+    }
+    int position = indexIn(sequence);
+    if (position == -1) {
+      return sequence.toString();
+    }
+    int length = sequence.length();
+    StringBuilder builder = new StringBuilder(length * 3 / 2 + 16);
+    int oldPosition = 0;
+    do {
+      builder.append(sequence, oldPosition, position);
+      builder.append(replacement);
+      oldPosition = position + 1;
+      position = indexIn(sequence, oldPosition);
+    } while (position != -1);
+    builder.append(sequence, oldPosition, length);
+    return builder.toString();
+  }
+
+  /**
+   * Returns a substring of the input character sequence that omits all characters this matcher
+   * matches from the beginning and from the end of the string. For example: <pre>   {@code
+   *
+   *   CharMatcher.anyOf("ab").trimFrom("abacatbab")}</pre>
+   *
+   * ... returns {@code "cat"}.
+   */
+  public String trimFrom(CharSequence sequence) {
+    int length = sequence.length();
+    int first = 0;
+    while (first < length && matches(sequence.charAt(first))) {
+      first++;
+    }
+    int last = length;
+    while (last > first && matches(sequence.charAt(last - 1))) {
+      last--;
+    }
+    return Splitter.substring(sequence, first, last);
+  }
+
+  /**
+   * Returns a substring of the input character sequence that omits all characters this matcher
+   * matches from the beginning of the string.
+   */
+  public String trimLeadingFrom(CharSequence sequence) {
+    int length = sequence.length();
+    int first = 0;
+    while (first < length && matches(sequence.charAt(first))) {
+      first++;
+    }
+    return Splitter.substring(sequence, first, length);
+  }
+
+  /**
+   * Returns a substring of the input character sequence that omits all characters this matcher
+   * matches from the end of the string.
+   */
+  public String trimTrailingFrom(CharSequence sequence) {
+    int last = sequence.length();
+    while (last > 0 && matches(sequence.charAt(last - 1))) {
+      last--;
+    }
+    return Splitter.substring(sequence, 0, last);
+  }
+
+  /**
+   * Returns a string copy of the input character sequence, with each group of consecutive
+   * characters that match this matcher replaced by a single replacement character. For example:
+   * <pre>   {@code
+   *
+   *   CharMatcher.anyOf("eko").collapseFrom("bookkeeper", '-')}</pre>
+   *
+   * ... returns {@code "b-p-r"}.
+   */
+  public String collapseFrom(CharSequence sequence, char replacement) {
+    int length = sequence.length();
+    for (int i = 0; i < length; i++) {
+      char c = sequence.charAt(i);
+      if (matches(c)) {
+        if (c == replacement && (i == length - 1 || !matches(sequence.charAt(i + 1)))) {
+          // a no-op replacement
+          i++;
+        } else {
+          StringBuilder builder = new StringBuilder(length).append(sequence, 0, i).append(
+              replacement);
+          return finishCollapseFrom(sequence, i + 1, length, replacement, builder, true);
+        }
+      }
+    }
+    // no replacement needed
+    return sequence.toString();
+  }
+
+  /**
+   * Collapses groups of matching characters exactly as {@link #collapseFrom} does, except that
+   * groups of matching characters at the start or end of the sequence are removed without
+   * replacement.
+   */
+  public String trimAndCollapseFrom(CharSequence sequence, char replacement) {
+    int length = sequence.length();
+    int first = 0;
+    while (first < length && matches(sequence.charAt(first))) {
+      first++;
+    }
+    int last = length - 1;
+    while (last > first && matches(sequence.charAt(last))) {
+      last--;
+    }
+    if (first == 0 && last == length - 1) {
+      return collapseFrom(sequence, replacement);
+    }
+    return finishCollapseFrom(sequence, first, last + 1, replacement,
+        new StringBuilder(last + 1 - first), false);
+  }
+
+  private String finishCollapseFrom(CharSequence sequence, int start, int end, char replacement,
+      StringBuilder builder, boolean inMatchingGroup) {
+    for (int i = start; i < end; i++) {
+      char c = sequence.charAt(i);
+      if (matches(c)) {
+        if (!inMatchingGroup) {
+          builder.append(replacement);
+          inMatchingGroup = true;
+        }
+      } else {
+        builder.append(c);
+        inMatchingGroup = false;
+      }
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Copies the first {@code count} characters of {@code sequence} to {@code chars}.
+   */
+  private static void copy(CharSequence sequence, int count, char[] chars) {
+    if (sequence instanceof String) {
+      ((String) sequence).getChars(0, count, chars, 0);
+    } else {
+      for (int i = 0; i < count; i++) {
+        chars[i] = sequence.charAt(i);
+      }
+    }
+  }
+
+  /**
+   * Returns the ASCII table of the characters within the inclusive ranges given as consecutive
+   * pairs of characters in {@code ranges}.
+   */
+  private static long[] ranges(String ranges) {
+    long[] table = new long[2];
+    for (int i = 0; i < ranges.length(); i += 2) {
+      for (char c = ranges.charAt(i); c <= ranges.charAt(i + 1); c++) {
+        table[c >> 6] |= 1L << c;
+      }
+    }
+    return table;
+  }
+
+  private static final class AnyOf extends CharMatcher {
+    private final char[] nonAscii;
+
+    AnyOf(long[] table, char[] nonAscii) {
+      super(table);
+      this.nonAscii = nonAscii;
+    }
+
+    @Override
+    boolean matchesNonAscii(char c) {
+      return nonAscii.length != 0 && Arrays.binarySearch(nonAscii, c) >= 0;
+    }
+  }
+
+  private static final class InRange extends CharMatcher {
+    private final char startInclusive;
+    private final char endInclusive;
+
+    InRange(char startInclusive, char endInclusive) {
+      super(ranges(new String(new char[] {
+          startInclusive, (char) Math.min(endInclusive, 127)
+      })));
+      this.startInclusive = startInclusive;
+      this.endInclusive = endInclusive;
+    }
+
+    @Override
+    boolean matchesNonAscii(char c) {
+      return startInclusive <= c && c <= endInclusive;
+    }
+  }
+
+  private static final class Negated extends CharMatcher {
+    private final CharMatcher original;
+
+    Negated(CharMatcher original) {
+      super(~original.low, ~original.high);
+      this.original = original;
+    }
+
+    @Override
+    boolean matchesNonAscii(char c) {
+      return !original.matchesNonAscii(c);
+    }
+
+    @Override
+    public CharMatcher negate() {
+      return original;
+    }
+  }
+
+  private static final class And extends CharMatcher {
+    private final CharMatcher first;
+    private final CharMatcher second;
+
+    And(CharMatcher first, CharMatcher second) {
+      super(first.low & second.low, first.high & second.high);
+      this.first = first;
+      this.second = second;
+    }
+
+    @Override
+    boolean matchesNonAscii(char c) {
+      return first.matchesNonAscii(c) && second.matchesNonAscii(c);
+    }
+  }
+
+  private static final class Or extends CharMatcher {
+    private final CharMatcher first;
+    private final CharMatcher second;
+
+    Or(CharMatcher first, CharMatcher second) {
+      super(first.low | second.low, first.high | second.high);
+      this.first = first;
+      this.second = second;
+    }
+
+    @Override
+    boolean matchesNonAscii(char c) {
+      return first.matchesNonAscii(c) || second.matchesNonAscii(c);
+    }
+  }
+}
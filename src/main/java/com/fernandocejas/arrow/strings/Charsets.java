@@ -15,7 +15,20 @@
  */
 package com.fernandocejas.arrow.strings;
 
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.fernandocejas.arrow.checks.Preconditions.checkNotNull;
 
 /**
  * Contains constant definitions for the six standard {@link Charset} instances, which are
@@ -23,6 +36,12 @@ import java.nio.charset.Charset;
  *
  * <p>Assuming you're free to choose, note that <b>{@link #UTF_8} is widely preferred</b>.
  *
+ * <p>{@link #encodeTo(CharSequence, Charset, ByteBuffer)} and {@link #decodeFrom(ByteBuffer,
+ * Charset, CharBuffer)} encode and decode straight into caller provided buffers, reusing one {@link
+ * CharsetEncoder} and one {@link CharsetDecoder} per charset and thread instead of creating them
+ * each time as {@link String#getBytes(Charset)} and {@link String#String(byte[], Charset)} do.
+ * {@link #US_ASCII}, {@link #ISO_8859_1} and {@link #UTF_8} are encoded and decoded by hand.
+ *
  * <p>See the Guava User Guide article on <a
  * href="http://code.google.com/p/guava-libraries/wiki/StringsExplained#Charsets">
  * {@code Charsets}</a>.
@@ -65,6 +84,243 @@ public final class Charsets {
    */
   public static final Charset UTF_16 = Charset.forName("UTF-16");
 
+  private static final char REPLACEMENT_CHAR = '\ufffd';
+
+  static final int CHUNK_SIZE = 4096;
+
+  // no byte decodes into more than one char, so both have the same size
+  private static final ThreadLocal<byte[]> SCRATCH_BYTES = new ThreadLocal<byte[]>() {
+    @Override
+    protected byte[] initialValue() {
+      return new byte[CHUNK_SIZE];
+    }
+  };
+
+  private static final ThreadLocal<char[]> SCRATCH_CHARS = new ThreadLocal<char[]>() {
+    @Override
+    protected char[] initialValue() {
+      return new char[CHUNK_SIZE];
+    }
+  };
+
+  private static final ThreadLocal<Map<Charset, CharsetEncoder>> ENCODERS =
+      new ThreadLocal<Map<Charset, CharsetEncoder>>() {
+        @Override
+        protected Map<Charset, CharsetEncoder> initialValue() {
+          return new HashMap<>();
+        }
+      };
+
+  private static final ThreadLocal<Map<Charset, CharsetDecoder>> DECODERS =
+      new ThreadLocal<Map<Charset, CharsetDecoder>>() {
+        @Override
+        protected Map<Charset, CharsetDecoder> initialValue() {
+          return new HashMap<>();
+        }
+      };
+
+  private Charsets() {
+    // no instances
+  }
+
+  /**
+   * Returns the current thread's encoder for {@code charset}, reset and configured to replace
+   * malformed and unmappable input, as {@link String#getBytes(Charset)} does.
+   *
+   * <p>The same instance is returned to every call for {@code charset} on the current thread, so
+   * it must not be used after a later call, nor be shared with other threads.
+   */
+  public static CharsetEncoder encoder(Charset charset) {
+    checkNotNull(charset);
+    Map<Charset, CharsetEncoder> encoders = ENCODERS.get();
+    CharsetEncoder encoder = encoders.get(charset);
+    if (encoder == null) {
+      encoder = charset.newEncoder();
+      encoders.put(charset, encoder);
+    } else {
+      encoder.reset();
+    }
+    return encoder.onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+  }
+
+  /**
+   * Returns the current thread's decoder for {@code charset}, reset and configured to replace
+   * malformed and unmappable input, as {@link String#String(byte[], Charset)} does.
+   *
+   * <p>The same instance is returned to every call for {@code charset} on the current thread, so
+   * it must not be used after a later call, nor be shared with other threads.
+   */
+  public static CharsetDecoder decoder(Charset charset) {
+    checkNotNull(charset);
+    Map<Charset, CharsetDecoder> decoders = DECODERS.get();
+    CharsetDecoder decoder = decoders.get(charset);
+    if (decoder == null) {
+      decoder = charset.newDecoder();
+      decoders.put(charset, decoder);
+    } else {
+      decoder.reset();
+    }
+    return decoder.onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+  }
+
+  /**
+   * Encodes {@code chars} with {@code charset} into {@code out}, starting at its position, and
+   * returns the number of bytes written. The bytes are the same as the ones returned by {@code
+   * chars.toString().getBytes(charset)}, but no intermediate {@code byte[]} is created, so {@code
+   * out} may well be a direct buffer.
+   *
+   * @throws BufferOverflowException if {@code out} has not enough room for all of the bytes, in
+   * which case its position is left unchanged
+   */
+  public static int encodeTo(CharSequence chars, Charset charset, ByteBuffer out) {
+    checkNotNull(chars);
+    int start = out.position();
+    EncodingAppendable appendable = EncodingAppendable.open(out, charset);
+    try {
+      appendable.append(chars);
+      appendable.finish();
+    } catch (IOException impossible) {
+      throw new AssertionError(impossible);
+    } catch (BufferOverflowException e) {
+      out.position(start);
+      throw e;
+    } finally {
+      appendable.release();
+    }
+    return out.position() - start;
+  }
+
+  /**
+   * Decodes the remaining bytes of {@code in} with {@code charset} into {@code out}, starting at
+   * its position, and returns the number of characters written. The characters are the same as
+   * the ones of {@code new String(bytes, charset)}, but no intermediate {@code char[]} or {@link
+   * String} is created.
+   *
+   * @throws BufferOverflowException if {@code out} has not enough room for all of the characters,
+   * in which case the positions of {@code in} and {@code out} are left unchanged
+   */
+  public static int decodeFrom(ByteBuffer in, Charset charset, CharBuffer out) {
+    checkNotNull(charset);
+    int inStart = in.position();
+    int outStart = out.position();
+    try {
+      if (charset.equals(UTF_8) || charset.equals(US_ASCII) || charset.equals(ISO_8859_1)) {
+        decodeByHand(in, charset, out);
+      } else {
+        decodeRemaining(in, charset, out);
+      }
+    } catch (BufferOverflowException e) {
+      in.position(inStart);
+      out.position(outStart);
+      throw e;
+    }
+    return out.position() - outStart;
+  }
+
+  /**
+   * Decodes {@code in} in chunks which are copied in bulk into this thread's scratch arrays. UTF-8
+   * is decoded by hand as long as it is well-formed: the remaining bytes are handed over to the
+   * decoder as soon as a malformed or truncated sequence is found, so replacements are exactly the
+   * ones of the JDK.
+   */
+  private static void decodeByHand(ByteBuffer in, Charset charset, CharBuffer out) {
+    boolean utf8 = charset.equals(UTF_8);
+    boolean ascii = charset.equals(US_ASCII);
+    byte[] bytes = SCRATCH_BYTES.get();
+    char[] chars = SCRATCH_CHARS.get();
+    while (in.hasRemaining()) {
+      int start = in.position();
+      int length = Math.min(in.remaining(), bytes.length);
+      in.get(bytes, 0, length);
+      boolean endOfInput = !in.hasRemaining();
+      int i = 0;
+      int count = 0;
+      while (i < length) {
+        int b1 = bytes[i];
+        if (b1 >= 0) {
+          chars[count++] = (char) b1;
+          i++;
+        } else if (!utf8) {
+          chars[count++] = ascii ? REPLACEMENT_CHAR : (char) (b1 & 0xff);
+          i++;
+        } else {
+          int sequenceLength = (b1 & 0xe0) == 0xc0 ? 2 : (b1 & 0xf0) == 0xe0 ? 3
+              : (b1 & 0xf8) == 0xf0 ? 4 : 1;
+          if (i + sequenceLength > length) {
+            if (!endOfInput && sequenceLength > 1) {
+              // the sequence continues in the next chunk
+              break;
+            }
+          } else if (sequenceLength == 2) {
+            int b2 = bytes[i + 1];
+            if (b1 >= (byte) 0xc2 && isContinuation(b2)) {
+              chars[count++] = (char) (((b1 & 0x1f) << 6) | (b2 & 0x3f));
+              i += 2;
+              continue;
+            }
+          } else if (sequenceLength == 3) {
+            int b2 = bytes[i + 1];
+            int b3 = bytes[i + 2];
+            char c = (char) (((b1 & 0x0f) << 12) | ((b2 & 0x3f) << 6) | (b3 & 0x3f));
+            if (isContinuation(b2) && isContinuation(b3) && c >= 0x800
+                && !Character.isSurrogate(c)) {
+              chars[count++] = c;
+              i += 3;
+              continue;
+            }
+          } else if (sequenceLength == 4) {
+            int b2 = bytes[i + 1];
+            int b3 = bytes[i + 2];
+            int b4 = bytes[i + 3];
+            int codePoint = ((b1 & 0x07) << 18) | ((b2 & 0x3f) << 12) | ((b3 & 0x3f) << 6)
+                | (b4 & 0x3f);
+            if (isContinuation(b2) && isContinuation(b3) && isContinuation(b4)
+                && codePoint >= Character.MIN_SUPPLEMENTARY_CODE_POINT
+                && codePoint <= Character.MAX_CODE_POINT) {
+              chars[count++] = Character.highSurrogate(codePoint);
+              chars[count++] = Character.lowSurrogate(codePoint);
+              i += 4;
+              continue;
+            }
+          }
+          put(chars, count, out);
+          in.position(start + i);
+          decodeRemaining(in, UTF_8, out);
+          return;
+        }
+      }
+      put(chars, count, out);
+      in.position(start + i);
+    }
+  }
+
+  private static void put(char[] chars, int count, CharBuffer out) {
+    if (out.remaining() < count) {
+      throw new BufferOverflowException();
+    }
+    out.put(chars, 0, count);
+  }
+
+  private static boolean isContinuation(int b) {
+    return (b & 0xc0) == 0x80;
+  }
+
+  private static void decodeRemaining(ByteBuffer in, Charset charset, CharBuffer out) {
+    CharsetDecoder decoder = decoder(charset);
+    throwIfOverflow(decoder.decode(in, out, true), in);
+    throwIfOverflow(decoder.flush(out), in);
+  }
+
+  private static void throwIfOverflow(CoderResult result, Buffer in) {
+    // Some JDK 8 coders report an underflow instead of an overflow when a replacement does not
+    // fit, leaving input behind.
+    if (result.isOverflow() || (result.isUnderflow() && in.hasRemaining())) {
+      throw new BufferOverflowException();
+    }
+  }
+
   /*
    * Please do not add new Charset references to this class, unless those character encodings are
    * part of the set required to be supported by all Java platform implementations! Any Charsets
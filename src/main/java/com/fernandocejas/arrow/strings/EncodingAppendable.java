@@ -0,0 +1,435 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.strings;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import org.jetbrains.annotations.Nullable;
+
+import static com.fernandocejas.arrow.checks.Preconditions.checkArgument;
+import static com.fernandocejas.arrow.checks.Preconditions.checkNotNull;
+
+/**
+ * An {@link Appendable} which encodes the characters appended to it with a {@link Charset} and
+ * writes the resulting bytes to an {@link OutputStream}, a {@link WritableByteChannel} or a {@link
+ * ByteBuffer} in fixed size chunks, so memory use does not depend on how much is written.
+ *
+ * <p>{@link Charsets#UTF_8}, {@link Charsets#US_ASCII} and {@link Charsets#ISO_8859_1} are encoded
+ * by hand; any other charset goes through a {@link CharsetEncoder}. Like {@link
+ * String#getBytes(Charset)}, malformed and unmappable characters are replaced.
+ *
+ * <p>Instances are pooled per thread: obtain one with {@link #open}, and always {@link #release}
+ * it after {@link #finish() finishing}. {@code open} throws {@link IllegalArgumentException} for a
+ * charset which does not support encoding, before taking the pooled instance.
+ */
+final class EncodingAppendable implements Appendable {
+
+  private static final int BUFFER_SIZE = 8192;
+
+  /**
+   * Room for the longest byte sequence the hand written encoders produce for one code point.
+   */
+  private static final int MAX_BYTES_PER_CODE_POINT = 4;
+
+  private static final byte REPLACEMENT = '?';
+
+  private static final ThreadLocal<EncodingAppendable> POOL = new ThreadLocal<>();
+
+  private final byte[] byteArray = new byte[BUFFER_SIZE];
+  private final ByteBuffer bytes = ByteBuffer.wrap(byteArray);
+  private int count;
+
+  // characters being encoded by hand are copied here in bulk
+  private final char[] scratch = new char[BUFFER_SIZE / MAX_BYTES_PER_CODE_POINT];
+
+  // only used for charsets which are not encoded by hand
+  private char[] charArray;
+  private CharBuffer chars;
+  private CharsetEncoder encoder;
+  private int maxBytesPerChar;
+
+  private boolean inUse;
+  private Charset charset;
+  private boolean utf8;
+  private char maxChar;
+  private char pendingHighSurrogate;
+  @Nullable private OutputStream out;
+  @Nullable private WritableByteChannel channel;
+  @Nullable private ByteBuffer buffer;
+
+  private EncodingAppendable() {
+  }
+
+  /**
+   * Returns an instance writing to {@code out} in {@code charset}, reusing this thread's instance
+   * unless it is already in use.
+   */
+  static EncodingAppendable open(OutputStream out, Charset charset) {
+    checkNotNull(out);
+    EncodingAppendable appendable = acquire(charset);
+    appendable.out = out;
+    return appendable;
+  }
+
+  /**
+   * Returns an instance writing to {@code channel} in {@code charset}, reusing this thread's
+   * instance unless it is already in use.
+   */
+  static EncodingAppendable open(WritableByteChannel channel, Charset charset) {
+    checkNotNull(channel);
+    EncodingAppendable appendable = acquire(charset);
+    appendable.channel = channel;
+    return appendable;
+  }
+
+  /**
+   * Returns an instance writing to {@code buffer} in {@code charset}, reusing this thread's
+   * instance unless it is already in use. Writing more bytes than {@code buffer} has room for
+   * throws a {@link BufferOverflowException}.
+   */
+  static EncodingAppendable open(ByteBuffer buffer, Charset charset) {
+    checkNotNull(buffer);
+    EncodingAppendable appendable = acquire(charset);
+    appendable.buffer = buffer;
+    return appendable;
+  }
+
+  /**
+   * Returns this thread's instance, or a new one if it is already in use, configured for {@code
+   * charset}. The arguments are all checked beforehand and the instance is only marked as in use
+   * once configured, so a failure here never leaves the pooled instance taken.
+   */
+  private static EncodingAppendable acquire(Charset charset) {
+    checkNotNull(charset);
+    checkArgument(charset.canEncode(), "charset %s does not support encoding", charset);
+    EncodingAppendable appendable = POOL.get();
+    if (appendable == null) {
+      appendable = new EncodingAppendable();
+      POOL.set(appendable);
+    } else if (appendable.inUse) {
+      // re-entrant use, e.g. from the toString() of a part being written
+      appendable = new EncodingAppendable();
+    }
+    appendable.count = 0;
+    appendable.pendingHighSurrogate = 0;
+    appendable.charset = charset;
+    appendable.utf8 = charset.equals(Charsets.UTF_8);
+    if (charset.equals(Charsets.US_ASCII)) {
+      appendable.maxChar = 0x7f;
+    } else if (charset.equals(Charsets.ISO_8859_1)) {
+      appendable.maxChar = 0xff;
+    } else {
+      appendable.maxChar = 0;
+      appendable.prepareEncoder();
+    }
+    appendable.inUse = true;
+    return appendable;
+  }
+
+  private void prepareEncoder() {
+    if (encoder == null || !encoder.charset().equals(charset)) {
+      encoder = charset.newEncoder()
+          .onMalformedInput(CodingErrorAction.REPLACE)
+          .onUnmappableCharacter(CodingErrorAction.REPLACE);
+      maxBytesPerChar = (int) Math.ceil(encoder.maxBytesPerChar());
+    } else {
+      encoder.reset();
+    }
+    if (chars == null) {
+      charArray = new char[BUFFER_SIZE];
+      chars = CharBuffer.wrap(charArray);
+    }
+    chars.clear();
+  }
+
+  @Override
+  public Appendable append(CharSequence csq) throws IOException {
+    CharSequence text = csq == null ? "null" : csq;
+    return append(text, 0, text.length());
+  }
+
+  @Override
+  public Appendable append(CharSequence csq, int start, int end) throws IOException {
+    if (csq == null) {
+      return append("null", start, end);
+    }
+    if (start < 0 || end < start || end > csq.length()) {
+      throw new IndexOutOfBoundsException(
+          "start " + start + ", end " + end + ", length " + csq.length());
+    }
+    if (utf8 || maxChar != 0) {
+      for (int i = start; i < end; ) {
+        int length = Math.min(scratch.length, end - i);
+        getChars(csq, i, i + length, scratch, 0);
+        if (utf8) {
+          encodeUtf8(scratch, length);
+        } else {
+          encodeSingleByte(scratch, length);
+        }
+        i += length;
+      }
+    } else {
+      for (int i = start; i < end; ) {
+        if (!chars.hasRemaining()) {
+          encodeChars(false);
+        }
+        int length = Math.min(chars.remaining(), end - i);
+        int position = chars.position();
+        getChars(csq, i, i + length, charArray, position);
+        chars.position(position + length);
+        i += length;
+      }
+    }
+    return this;
+  }
+
+  private static void getChars(CharSequence csq, int start, int end, char[] dst, int dstStart) {
+    if (csq instanceof String) {
+      ((String) csq).getChars(start, end, dst, dstStart);
+    } else if (csq instanceof StringBuilder) {
+      ((StringBuilder) csq).getChars(start, end, dst, dstStart);
+    } else {
+      for (int i = start, j = dstStart; i < end; i++, j++) {
+        dst[j] = csq.charAt(i);
+      }
+    }
+  }
+
+  @Override
+  public Appendable append(char c) throws IOException {
+    if (utf8) {
+      encodeUtf8(c);
+    } else if (maxChar != 0) {
+      encodeSingleByte(c);
+    } else {
+      if (!chars.hasRemaining()) {
+        encodeChars(false);
+      }
+      chars.put(c);
+    }
+    return this;
+  }
+
+  /**
+   * Encodes any pending input, writes all buffered bytes to the target and makes this instance
+   * available for reuse. Does not flush or close the target.
+   */
+  void finish() throws IOException {
+    if (pendingHighSurrogate != 0) {
+      pendingHighSurrogate = 0;
+      put(REPLACEMENT);
+    }
+    if (!utf8 && maxChar == 0) {
+      encodeChars(true);
+    }
+    drain();
+  }
+
+  /**
+   * Makes this instance available for reuse by the current thread, discarding anything which has
+   * not been written yet.
+   */
+  void release() {
+    out = null;
+    channel = null;
+    buffer = null;
+    inUse = false;
+  }
+
+  private void encodeUtf8(char[] src, int length) throws IOException {
+    int i = 0;
+    while (i < length) {
+      char c = src[i];
+      if (c < 0x80 && pendingHighSurrogate == 0) {
+        // copy a run of ASCII characters straight into the byte buffer
+        if (count == BUFFER_SIZE) {
+          drain();
+        }
+        int limit = Math.min(length, i + BUFFER_SIZE - count);
+        int position = count;
+        do {
+          byteArray[position++] = (byte) c;
+        } while (++i < limit && (c = src[i]) < 0x80);
+        count = position;
+      } else {
+        encodeUtf8(c);
+        i++;
+      }
+    }
+  }
+
+  private void encodeUtf8(char c) throws IOException {
+    if (count > BUFFER_SIZE - MAX_BYTES_PER_CODE_POINT) {
+      drain();
+    }
+    if (pendingHighSurrogate != 0) {
+      char high = pendingHighSurrogate;
+      pendingHighSurrogate = 0;
+      if (Character.isLowSurrogate(c)) {
+        int codePoint = Character.toCodePoint(high, c);
+        byteArray[count++] = (byte) (0xf0 | (codePoint >>> 18));
+        byteArray[count++] = (byte) (0x80 | ((codePoint >>> 12) & 0x3f));
+        byteArray[count++] = (byte) (0x80 | ((codePoint >>> 6) & 0x3f));
+        byteArray[count++] = (byte) (0x80 | (codePoint & 0x3f));
+        return;
+      }
+      byteArray[count++] = REPLACEMENT;
+    }
+    if (c < 0x80) {
+      byteArray[count++] = (byte) c;
+    } else if (c < 0x800) {
+      byteArray[count++] = (byte) (0xc0 | (c >>> 6));
+      byteArray[count++] = (byte) (0x80 | (c & 0x3f));
+    } else if (Character.isHighSurrogate(c)) {
+      pendingHighSurrogate = c;
+    } else if (Character.isLowSurrogate(c)) {
+      byteArray[count++] = REPLACEMENT;
+    } else {
+      byteArray[count++] = (byte) (0xe0 | (c >>> 12));
+      byteArray[count++] = (byte) (0x80 | ((c >>> 6) & 0x3f));
+      byteArray[count++] = (byte) (0x80 | (c & 0x3f));
+    }
+  }
+
+  private void encodeSingleByte(char[] src, int length) throws IOException {
+    char max = maxChar;
+    int i = 0;
+    while (i < length) {
+      char c = src[i];
+      if (c <= max && pendingHighSurrogate == 0) {
+        // copy a run of mappable characters straight into the byte buffer
+        if (count == BUFFER_SIZE) {
+          drain();
+        }
+        int limit = Math.min(length, i + BUFFER_SIZE - count);
+        int position = count;
+        do {
+          byteArray[position++] = (byte) c;
+        } while (++i < limit && (c = src[i]) <= max);
+        count = position;
+      } else {
+        encodeSingleByte(c);
+        i++;
+      }
+    }
+  }
+
+  private void encodeSingleByte(char c) throws IOException {
+    if (pendingHighSurrogate != 0) {
+      // a supplementary code point is a single unmappable character
+      pendingHighSurrogate = 0;
+      put(REPLACEMENT);
+      if (Character.isLowSurrogate(c)) {
+        return;
+      }
+    }
+    if (Character.isHighSurrogate(c)) {
+      pendingHighSurrogate = c;
+    } else {
+      put(c <= maxChar ? (byte) c : REPLACEMENT);
+    }
+  }
+
+  private void put(byte b) throws IOException {
+    if (count == BUFFER_SIZE) {
+      drain();
+    }
+    byteArray[count++] = b;
+  }
+
+  /**
+   * Encodes the buffered characters with the {@link CharsetEncoder}, in slices which always fit in
+   * the room left in the byte buffer, draining it whenever that room runs out.
+   *
+   * <p>Like {@link String#getBytes(Charset)}, which sizes its output for the worst case, this
+   * never lets the encoder run out of room in the middle of its input: some JDK 8 encoders, such
+   * as windows-1252, then drop the character following a replaced surrogate and report an
+   * underflow.
+   */
+  private void encodeChars(boolean endOfInput) throws IOException {
+    chars.flip();
+    int limit = chars.limit();
+    while (true) {
+      // at least two characters per slice, so that a surrogate pair always fits in one
+      int room = (BUFFER_SIZE - count) / maxBytesPerChar;
+      if (room < 2) {
+        drain();
+        continue;
+      }
+      boolean lastSlice = limit - chars.position() <= room;
+      chars.limit(lastSlice ? limit : chars.position() + room);
+      bytes.clear().position(count);
+      CoderResult result = encoder.encode(chars, bytes, lastSlice && endOfInput);
+      count = bytes.position();
+      chars.limit(limit);
+      throwIfError(result);
+      if (result.isOverflow()) {
+        // not with the JDK encoders, for which maxBytesPerChar is a bound
+        drain();
+      } else if (lastSlice) {
+        break;
+      }
+    }
+    if (endOfInput) {
+      CoderResult result;
+      do {
+        bytes.clear().position(count);
+        result = encoder.flush(bytes);
+        count = bytes.position();
+        if (result.isOverflow()) {
+          drain();
+        }
+      } while (result.isOverflow());
+      throwIfError(result);
+    }
+    chars.compact();
+  }
+
+  private static void throwIfError(CoderResult result) throws CharacterCodingException {
+    if (result.isError()) {
+      result.throwException();
+    }
+  }
+
+  private void drain() throws IOException {
+    if (count == 0) {
+      return;
+    }
+    if (out != null) {
+      out.write(byteArray, 0, count);
+    } else if (buffer != null) {
+      if (buffer.remaining() < count) {
+        throw new BufferOverflowException();
+      }
+      buffer.put(byteArray, 0, count);
+    } else {
+      bytes.clear().limit(count);
+      while (bytes.hasRemaining()) {
+        channel.write(bytes);
+      }
+    }
+    count = 0;
+  }
+}
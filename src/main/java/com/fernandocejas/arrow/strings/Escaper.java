@@ -0,0 +1,158 @@
+/**
+ * Copyright (C) 2008 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.strings;
+
+import java.io.IOException;
+
+import static com.fernandocejas.arrow.checks.Preconditions.checkNotNull;
+
+/**
+ * An object that converts literal text into a format safe for inclusion in a particular context
+ * (such as an XML document). Typically (but not always), the inverse process of "unescaping" the
+ * text is performed automatically by the relevant parser.
+ *
+ * <p>For example, an XML escaper would convert the literal string {@code "Foo<Bar>"} into {@code
+ * "Foo&lt;Bar&gt;"} to prevent {@code "<Bar>"} from being confused with an XML tag. When the
+ * resulting XML document is parsed, the parser API will return this text as the original literal
+ * string {@code "Foo<Bar>"}.
+ *
+ * <p>Escapers are driven by tables computed once, when they are created, and never allocate
+ * anything to decide whether a character needs escaping: {@link #escape(String)} returns its input
+ * itself when nothing needs escaping, and {@link #escapeTo(CharSequence, Appendable)} writes the
+ * escaped text straight into an {@link Appendable}. Combined with
+ * {@link Joiner#joinLazily(Iterable)}, the latter escapes joined parts in a single pass, without
+ * creating either the joined or the escaped string:
+ * <pre>   {@code
+ *
+ *   Escapers.htmlEscaper().escapeTo(Strings.joinOn(", ").joinLazily(names), writer);}</pre>
+ *
+ * <p>An {@code Escaper} instance is required to be stateless, and safe when used concurrently by
+ * multiple threads. Obtain instances from {@link Escapers}.
+ *
+ * <p><b>This class contains code derived from <a href="https://github.com/google/guava">Google
+ * Guava</a></b>
+ *
+ * @author David Beaumont
+ * @author Sven Mawson
+ */
+public abstract class Escaper {
+
+  Escaper() {
+  }
+
+  /**
+   * Returns the escaped form of a given literal string, which is {@code string} itself when none
+   * of its characters need escaping.
+   *
+   * @param string the literal string to be escaped
+   * @return the escaped form of {@code string}
+   * @throws IllegalArgumentException if {@code string} contains badly formed UTF-16 or cannot be
+   * escaped for any other reason
+   */
+  public String escape(String string) {
+    int length = string.length();
+    int index = nextEscapeIndex(string, 0, length);
+    if (index == length) {
+      return string;
+    }
+    StringBuilder builder = new StringBuilder(length + 16);
+    builder.append(string, 0, index);
+    try {
+      escape(string, index, length, builder);
+    } catch (IOException impossible) {
+      throw new AssertionError(impossible);
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Appends the escaped form of {@code chars} to {@code appendable}, without creating any
+   * intermediate string.
+   *
+   * @return {@code appendable}
+   * @throws IllegalArgumentException if {@code chars} contains badly formed UTF-16 or cannot be
+   * escaped for any other reason
+   */
+  public <A extends Appendable> A escapeTo(CharSequence chars, A appendable) throws IOException {
+    checkNotNull(appendable);
+    if (chars instanceof JoinedCharSequence) {
+      // escape part by part, rather than finding the part of each character
+      JoinedCharSequence.append(new EscapingAppendable(this, appendable), chars);
+    } else {
+      escape(chars, 0, chars.length(), appendable);
+    }
+    return appendable;
+  }
+
+  /**
+   * Appends the escaped form of {@code chars} to {@code builder}. Identical to {@link
+   * #escapeTo(CharSequence, Appendable)}, except that it does not throw {@link IOException}.
+   *
+   * @return {@code builder}
+   */
+  public final StringBuilder escapeTo(CharSequence chars, StringBuilder builder) {
+    try {
+      escapeTo(chars, (Appendable) builder);
+    } catch (IOException impossible) {
+      throw new AssertionError(impossible);
+    }
+    return builder;
+  }
+
+  /**
+   * Returns the index of the first character of {@code chars} between {@code start} (inclusive)
+   * and {@code end} (exclusive) which needs escaping, or {@code end} if there is none.
+   */
+  abstract int nextEscapeIndex(CharSequence chars, int start, int end);
+
+  /**
+   * Appends the escaped form of the characters of {@code chars} between {@code start} (inclusive)
+   * and {@code end} (exclusive) to {@code out}.
+   */
+  abstract void escape(CharSequence chars, int start, int end, Appendable out)
+      throws IOException;
+
+  /**
+   * An {@link Appendable} which escapes everything appended to it into another one.
+   */
+  private static final class EscapingAppendable implements Appendable {
+    private final Escaper escaper;
+    private final Appendable out;
+
+    EscapingAppendable(Escaper escaper, Appendable out) {
+      this.escaper = escaper;
+      this.out = out;
+    }
+
+    @Override
+    public Appendable append(CharSequence csq) throws IOException {
+      escaper.escape(csq, 0, csq.length(), out);
+      return this;
+    }
+
+    @Override
+    public Appendable append(CharSequence csq, int start, int end) throws IOException {
+      escaper.escape(csq, start, end, out);
+      return this;
+    }
+
+    @Override
+    public Appendable append(char c) throws IOException {
+      escaper.escape(String.valueOf(c), 0, 1, out);
+      return this;
+    }
+  }
+}
@@ -0,0 +1,408 @@
+/**
+ * Copyright (C) 2009 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.strings;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import org.jetbrains.annotations.Nullable;
+
+import static com.fernandocejas.arrow.checks.Preconditions.checkArgument;
+import static com.fernandocejas.arrow.checks.Preconditions.checkNotNull;
+
+/**
+ * Static methods to obtain {@link Escaper} instances for common formats, and a {@link Builder}
+ * for simple, table-driven ones.
+ *
+ * <p><b>This class contains code derived from <a href="https://github.com/google/guava">Google
+ * Guava</a></b>
+ *
+ * @author David Beaumont
+ * @author Sven Mawson
+ */
+public final class Escapers {
+
+  private static final Escaper JSON_ESCAPER;
+  private static final Escaper HTML_ESCAPER = builder()
+      .addEscape('"', "&quot;")
+      // Note: "&apos;" is not defined in HTML 4.01.
+      .addEscape('\'', "&#39;")
+      .addEscape('&', "&amp;")
+      .addEscape('<', "&lt;")
+      .addEscape('>', "&gt;")
+      .build();
+  private static final Escaper XML_CONTENT_ESCAPER;
+  private static final Escaper XML_ATTRIBUTE_ESCAPER;
+  private static final Escaper URL_FORM_PARAMETER_ESCAPER = new PercentEscaper("-_.*", true);
+
+  static {
+    Builder builder = builder()
+        .addEscape('"', "\\\"")
+        .addEscape('\\', "\\\\");
+    for (char c = 0; c < 0x20; c++) {
+      builder.addEscape(c, String.format("\\u%04x", (int) c));
+    }
+    JSON_ESCAPER = builder
+        .addEscape('\b', "\\b")
+        .addEscape('\f', "\\f")
+        .addEscape('\n', "\\n")
+        .addEscape('\r', "\\r")
+        .addEscape('\t', "\\t")
+        .build();
+
+    builder = builder()
+        // The char values \ufffe and \uffff are explicitly not allowed in XML
+        // (Unicode code points above \uffff are represented via surrogate pairs
+        // which means they are treated as pairs of safe characters).
+        .setSafeRange(Character.MIN_VALUE, '\ufffd')
+        // Unsafe characters are replaced with the Unicode replacement character.
+        .setUnsafeReplacement("\ufffd");
+    // Except for \n, \t, and \r, all ASCII control characters are replaced with the Unicode
+    // replacement character.
+    for (char c = 0; c < 0x20; c++) {
+      if (c != '\t' && c != '\n' && c != '\r') {
+        builder.addEscape(c, "\ufffd");
+      }
+    }
+    builder.addEscape('&', "&amp;");
+    builder.addEscape('<', "&lt;");
+    builder.addEscape('>', "&gt;");
+    XML_CONTENT_ESCAPER = builder.build();
+    builder.addEscape('\'', "&apos;");
+    builder.addEscape('"', "&quot;");
+    builder.addEscape('\t', "&#x9;");
+    builder.addEscape('\n', "&#xA;");
+    builder.addEscape('\r', "&#xD;");
+    XML_ATTRIBUTE_ESCAPER = builder.build();
+  }
+
+  /**
+   * Returns an {@link Escaper} instance that escapes the contents of a JSON string literal: the
+   * quotation mark, the reverse solidus and all control characters are escaped as defined by
+   * RFC 7159, and all other characters are left unchanged.
+   */
+  public static Escaper jsonEscaper() {
+    return JSON_ESCAPER;
+  }
+
+  /**
+   * Returns an {@link Escaper} instance that escapes HTML metacharacters as specified by
+   * <a href="http://www.w3.org/TR/html4/">HTML 4.01</a>. The resulting strings can be used both in
+   * attribute values and in <em>most</em> elements' text contents, provided that the HTML
+   * document's character encoding can encode any non-ASCII code points in the input (as UTF-8 and
+   * other Unicode encodings can).
+   *
+   * <p><b>Note:</b> This escaper only performs minimal escaping to make content structurally
+   * compatible with HTML. Specifically, it does not perform entity replacement (symbolic or
+   * numeric), so it does not replace non-ASCII code points with character references. This escaper
+   * escapes only the following five ASCII characters: {@code '"&<>}.
+   */
+  public static Escaper htmlEscaper() {
+    return HTML_ESCAPER;
+  }
+
+  /**
+   * Returns an {@link Escaper} instance that escapes special characters in a string so it can
+   * safely be included in an XML document as element content. Single and double quotes are not
+   * escaped, so it is <b>not</b> safe to use this escaper to escape attribute values; use
+   * {@link #xmlAttributeEscaper()} instead.
+   *
+   * <p>Unicode characters which are not allowed in XML, such as most ASCII control characters,
+   * are replaced with the Unicode replacement character {@code \ufffd}.
+   */
+  public static Escaper xmlContentEscaper() {
+    return XML_CONTENT_ESCAPER;
+  }
+
+  /**
+   * Returns an {@link Escaper} instance that escapes special characters in a string so it can
+   * safely be included in XML document as an attribute value: in addition to the characters
+   * escaped by {@link #xmlContentEscaper()}, single and double quotes and the whitespace characters
+   * {@code \t}, {@code \n} and {@code \r} are escaped so that attribute value normalization keeps
+   * them.
+   */
+  public static Escaper xmlAttributeEscaper() {
+    return XML_ATTRIBUTE_ESCAPER;
+  }
+
+  /**
+   * Returns an {@link Escaper} instance that escapes strings so they can be safely included in
+   * <a href="http://www.w3.org/TR/html4/interact/forms.html#h-17.13.4.1">URL form parameter names
+   * and values</a>, as {@link java.net.URLEncoder} does with UTF-8: the alphanumeric characters
+   * and {@code "-_.*"} are left unchanged, the space character is replaced by {@code '+'}, and all
+   * other characters are converted into one or more bytes using UTF-8 and each byte is then
+   * represented by the 3-character string {@code "%XY"}, where {@code XY} is the two-digit,
+   * uppercase, hexadecimal representation of the byte value.
+   *
+   * <p>This escaper throws {@link IllegalArgumentException} on unpaired surrogates, instead of
+   * replacing them as {@link java.net.URLEncoder} does.
+   */
+  public static Escaper urlFormParameterEscaper() {
+    return URL_FORM_PARAMETER_ESCAPER;
+  }
+
+  /**
+   * Returns a builder for creating simple, fast escapers. A builder instance can be reused and
+   * each escaper that is created will be a snapshot of the current builder state. Builders are not
+   * thread safe.
+   *
+   * <p>The initial state of the builder is such that:
+   * <ul>
+   * <li>There are no replacement mappings
+   * <li>{@code safeMin == Character.MIN_VALUE}</li>
+   * <li>{@code safeMax == Character.MAX_VALUE}</li>
+   * <li>{@code unsafeReplacement == null}</li>
+   * </ul>
+   * <p>For performance reasons escapers created by this builder are not Unicode aware and will not
+   * validate the well-formedness of their input.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * A builder for simple, fast escapers.
+   *
+   * <p>{@link #build()} returns an escaper driven by a replacement array indexed by character
+   * value, precomputed when it is built, so the escapes should be limited to a small range of
+   * low valued characters; any character outside the safe range can only be replaced by a single
+   * string.
+   */
+  public static final class Builder {
+    private final Map<Character, String> replacementMap = new HashMap<>();
+    private char safeMin = Character.MIN_VALUE;
+    private char safeMax = Character.MAX_VALUE;
+    private String unsafeReplacement = null;
+
+    private Builder() {
+    }
+
+    /**
+     * Sets the safe range of characters for the escaper. Characters in this range that have no
+     * explicit replacement are considered 'safe' and remain unescaped in the output. If {@code
+     * safeMax < safeMin} then the safe range is empty.
+     *
+     * @param safeMin the lowest 'safe' character
+     * @param safeMax the highest 'safe' character
+     * @return the builder instance
+     */
+    public Builder setSafeRange(char safeMin, char safeMax) {
+      this.safeMin = safeMin;
+      this.safeMax = safeMax;
+      return this;
+    }
+
+    /**
+     * Sets the replacement string for any characters outside the 'safe' range that have no
+     * explicit replacement. If {@code unsafeReplacement} is {@code null} then no replacement will
+     * occur; if it is {@code ""} then the unsafe characters are removed from the output.
+     *
+     * @param unsafeReplacement the string to replace unsafe characters
+     * @return the builder instance
+     */
+    public Builder setUnsafeReplacement(@Nullable String unsafeReplacement) {
+      this.unsafeReplacement = unsafeReplacement;
+      return this;
+    }
+
+    /**
+     * Adds a replacement string for the given input character. The specified character will be
+     * replaced by the given string whenever it occurs in the input, irrespective of whether it
+     * lies inside or outside the 'safe' range.
+     *
+     * @param c the character to be replaced
+     * @param replacement the string to replace the given character
+     * @return the builder instance
+     * @throws NullPointerException if {@code replacement} is null
+     */
+    public Builder addEscape(char c, String replacement) {
+      checkNotNull(replacement);
+      replacementMap.put(c, replacement);
+      return this;
+    }
+
+    /**
+     * Returns a new escaper based on the current state of the builder.
+     */
+    public Escaper build() {
+      char max = 0;
+      for (char c : replacementMap.keySet()) {
+        max = (char) Math.max(max, c);
+      }
+      String[] replacements = new String[replacementMap.isEmpty() ? 0 : max + 1];
+      for (Map.Entry<Character, String> entry : replacementMap.entrySet()) {
+        replacements[entry.getKey()] = entry.getValue();
+      }
+      return unsafeReplacement == null
+          ? new ArrayBasedEscaper(replacements, Character.MIN_VALUE, Character.MAX_VALUE, null)
+          : new ArrayBasedEscaper(replacements, safeMin, safeMax, unsafeReplacement);
+    }
+  }
+
+  /**
+   * An {@link Escaper} which looks up the replacement of each character below a threshold in an
+   * array, and replaces the characters outside a safe range with a single string. Everything else
+   * is copied to the output in runs.
+   */
+  private static final class ArrayBasedEscaper extends Escaper {
+    private final String[] replacements;
+    private final int replacementsLength;
+    private final char safeMin;
+    private final char safeMax;
+    private final String unsafeReplacement;
+
+    ArrayBasedEscaper(
+        String[] replacements, char safeMin, char safeMax, String unsafeReplacement) {
+      this.replacements = replacements;
+      this.replacementsLength = replacements.length;
+      this.safeMin = safeMin;
+      this.safeMax = safeMax;
+      this.unsafeReplacement = unsafeReplacement;
+    }
+
+    @Override
+    int nextEscapeIndex(CharSequence chars, int start, int end) {
+      for (int i = start; i < end; i++) {
+        char c = chars.charAt(i);
+        if ((c < replacementsLength && replacements[c] != null) || c < safeMin || c > safeMax) {
+          return i;
+        }
+      }
+      return end;
+    }
+
+    @Override
+    void escape(CharSequence chars, int start, int end, Appendable out) throws IOException {
+      int unescaped = start;
+      for (int i = start; i < end; i++) {
+        char c = chars.charAt(i);
+        String replacement = c < replacementsLength ? replacements[c] : null;
+        if (replacement == null && (c < safeMin || c > safeMax)) {
+          replacement = unsafeReplacement;
+        }
+        if (replacement != null) {
+          if (i > unescaped) {
+            out.append(chars, unescaped, i);
+          }
+          out.append(replacement);
+          unescaped = i + 1;
+        }
+      }
+      if (end > unescaped) {
+        out.append(chars, unescaped, end);
+      }
+    }
+  }
+
+  /**
+   * An {@link Escaper} that escapes some set of Java characters using a UTF-8 based percent
+   * encoding scheme. The set of safe characters (those which remain unescaped) can be specified on
+   * construction.
+   */
+  private static final class PercentEscaper extends Escaper {
+    private static final char[] UPPER_HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * If true we should convert space to the {@code +} character.
+     */
+    private final boolean plusForSpace;
+
+    /**
+     * An array of flags where for any {@code char c} if {@code safeOctets[c]} is true then
+     * {@code c} should remain unmodified in the output. Only ASCII characters can be safe.
+     */
+    private final boolean[] safeOctets = new boolean[0x80];
+
+    PercentEscaper(String safeChars, boolean plusForSpace) {
+      checkArgument(!safeChars.matches(".*[0-9A-Za-z].*"),
+          "Alphanumeric characters are always 'safe' and should not be explicitly specified");
+      checkArgument(!(plusForSpace && safeChars.contains(" ")),
+          "plusForSpace cannot be specified when space is a 'safe' character");
+      this.plusForSpace = plusForSpace;
+      for (char c = '0'; c <= '9'; c++) {
+        safeOctets[c] = true;
+      }
+      for (char c = 'A'; c <= 'Z'; c++) {
+        safeOctets[c] = true;
+        safeOctets[c | 0x20] = true;
+      }
+      for (int i = 0; i < safeChars.length(); i++) {
+        safeOctets[safeChars.charAt(i)] = true;
+      }
+    }
+
+    @Override
+    int nextEscapeIndex(CharSequence chars, int start, int end) {
+      for (int i = start; i < end; i++) {
+        char c = chars.charAt(i);
+        if (c >= 0x80 || !safeOctets[c]) {
+          return i;
+        }
+      }
+      return end;
+    }
+
+    @Override
+    void escape(CharSequence chars, int start, int end, Appendable out) throws IOException {
+      int unescaped = start;
+      for (int i = start; i < end; i++) {
+        char c = chars.charAt(i);
+        if (c < 0x80 && safeOctets[c]) {
+          continue;
+        }
+        if (i > unescaped) {
+          out.append(chars, unescaped, i);
+        }
+        if (c == ' ' && plusForSpace) {
+          out.append('+');
+        } else if (c < 0x80) {
+          appendOctet(c, out);
+        } else if (c < 0x800) {
+          appendOctet(0xc0 | (c >>> 6), out);
+          appendOctet(0x80 | (c & 0x3f), out);
+        } else if (!Character.isSurrogate(c)) {
+          appendOctet(0xe0 | (c >>> 12), out);
+          appendOctet(0x80 | ((c >>> 6) & 0x3f), out);
+          appendOctet(0x80 | (c & 0x3f), out);
+        } else {
+          char low;
+          if (!Character.isHighSurrogate(c) || i + 1 == end
+              || !Character.isLowSurrogate(low = chars.charAt(i + 1))) {
+            throw new IllegalArgumentException("Unpaired surrogate at index " + i);
+          }
+          int codePoint = Character.toCodePoint(c, low);
+          appendOctet(0xf0 | (codePoint >>> 18), out);
+          appendOctet(0x80 | ((codePoint >>> 12) & 0x3f), out);
+          appendOctet(0x80 | ((codePoint >>> 6) & 0x3f), out);
+          appendOctet(0x80 | (codePoint & 0x3f), out);
+          i++;
+        }
+        unescaped = i + 1;
+      }
+      if (end > unescaped) {
+        out.append(chars, unescaped, end);
+      }
+    }
+
+    private static void appendOctet(int octet, Appendable out) throws IOException {
+      out.append('%').append(UPPER_HEX_DIGITS[octet >>> 4]).append(UPPER_HEX_DIGITS[octet & 0xf]);
+    }
+  }
+
+  private Escapers() {
+    // no instances
+  }
+}
@@ -0,0 +1,329 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.strings;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+import static com.fernandocejas.arrow.checks.Preconditions.checkArgument;
+import static com.fernandocejas.arrow.checks.Preconditions.checkFromIndexSize;
+import static com.fernandocejas.arrow.checks.Preconditions.checkNotNull;
+
+/**
+ * A table-driven hexadecimal (base 16) encoder and decoder. Each byte is converted into exactly two
+ * characters, so the encoded form keeps leading zeros. Example: <pre>   {@code
+ * <p/>
+ *   Hex.lowerCase().encode(new byte[] { 0x0a, (byte) 0xff });   // returns "0aff"
+ *   Hex.upperCase().encode(new byte[] { 0x0a, (byte) 0xff });   // returns "0AFF"
+ *   Hex.decode("0aFF");                                          // returns { 0x0a, 0xff }}</pre>
+ * <p/>
+ * <p>Encoding writes straight into a {@code char[]} of the exact output size (or into the given
+ * {@link Appendable}), so the only allocation when producing a {@link String} is the result
+ * itself.
+ * <p/>
+ * <p>Payloads which must not be loaded into memory can be streamed from an {@link InputStream}, a
+ * {@link ReadableByteChannel} or a {@link java.nio.MappedByteBuffer}: they are encoded in fixed
+ * size chunks through a single {@code char[]}, so memory use does not depend on the input size.
+ * <p/>
+ * <p>Instances are immutable and thread-safe.
+ */
+public final class Hex {
+
+  private static final Hex LOWER_CASE = new Hex("0123456789abcdef".toCharArray());
+  private static final Hex UPPER_CASE = new Hex("0123456789ABCDEF".toCharArray());
+
+  /**
+   * Number of bytes encoded at a time when writing into an {@link Appendable}.
+   */
+  private static final int CHUNK_SIZE = 4096;
+
+  /**
+   * Maps an ASCII character to its hexadecimal value, or -1 if it is not a hexadecimal digit.
+   */
+  private static final byte[] DECODING_TABLE = new byte[128];
+
+  static {
+    for (int i = 0; i < DECODING_TABLE.length; i++) {
+      DECODING_TABLE[i] = -1;
+    }
+    for (int i = 0; i < 10; i++) {
+      DECODING_TABLE['0' + i] = (byte) i;
+    }
+    for (int i = 0; i < 6; i++) {
+      DECODING_TABLE['a' + i] = (byte) (10 + i);
+      DECODING_TABLE['A' + i] = (byte) (10 + i);
+    }
+  }
+
+  /**
+   * Returns an encoder which uses the lower case digits {@code 0-9a-f}.
+   */
+  public static Hex lowerCase() {
+    return LOWER_CASE;
+  }
+
+  /**
+   * Returns an encoder which uses the upper case digits {@code 0-9A-F}.
+   */
+  public static Hex upperCase() {
+    return UPPER_CASE;
+  }
+
+  /**
+   * Digits indexed by byte value: {@code high[b & 0xff]} and {@code low[b & 0xff]} are the first
+   * and second character of the encoded form of {@code b}.
+   */
+  private final char[] high = new char[256];
+  private final char[] low = new char[256];
+
+  private Hex(char[] digits) {
+    for (int i = 0; i < 256; i++) {
+      high[i] = digits[i >>> 4];
+      low[i] = digits[i & 0x0f];
+    }
+  }
+
+  /**
+   * Returns the hexadecimal representation of {@code bytes}.
+   */
+  public String encode(byte[] bytes) {
+    return encode(bytes, 0, bytes.length);
+  }
+
+  /**
+   * Returns the hexadecimal representation of {@code length} bytes of {@code bytes} starting at
+   * {@code offset}.
+   *
+   * @throws IndexOutOfBoundsException if {@code offset} and {@code length} do not specify a valid
+   * range within {@code bytes}
+   */
+  public String encode(byte[] bytes, int offset, int length) {
+    checkFromIndexSize(offset, length, bytes.length);
+    char[] chars = new char[length << 1];
+    encode(bytes, offset, length, chars, 0);
+    return new String(chars);
+  }
+
+  /**
+   * Returns the hexadecimal representation of the remaining bytes of {@code buffer}. Works with
+   * both heap and direct buffers. The position of {@code buffer} is not modified.
+   */
+  public String encode(ByteBuffer buffer) {
+    char[] chars = new char[buffer.remaining() << 1];
+    encode(buffer, buffer.position(), buffer.remaining(), chars, 0);
+    return new String(chars);
+  }
+
+  /**
+   * Appends the hexadecimal representation of {@code bytes} to {@code appendable}.
+   */
+  public <A extends Appendable> A appendTo(A appendable, byte[] bytes) throws IOException {
+    return appendTo(appendable, bytes, 0, bytes.length);
+  }
+
+  /**
+   * Appends the hexadecimal representation of {@code length} bytes of {@code bytes} starting at
+   * {@code offset} to {@code appendable}.
+   */
+  public <A extends Appendable> A appendTo(A appendable, byte[] bytes, int offset, int length)
+      throws IOException {
+    checkNotNull(appendable);
+    checkFromIndexSize(offset, length, bytes.length);
+    char[] chars = new char[Math.min(length, CHUNK_SIZE) << 1];
+    for (int done = 0; done < length; done += CHUNK_SIZE) {
+      int count = Math.min(CHUNK_SIZE, length - done);
+      encode(bytes, offset + done, count, chars, 0);
+      write(appendable, chars, count << 1);
+    }
+    return appendable;
+  }
+
+  /**
+   * Appends the hexadecimal representation of the remaining bytes of {@code buffer} to {@code
+   * appendable}. The position of {@code buffer} is not modified.
+   *
+   * <p>Direct buffers, including a {@link java.nio.MappedByteBuffer} over a file, are copied out
+   * and encoded in fixed size chunks, so the memory used does not depend on the buffer size.
+   */
+  public <A extends Appendable> A appendTo(A appendable, ByteBuffer buffer) throws IOException {
+    checkNotNull(appendable);
+    if (buffer.hasArray()) {
+      return appendTo(appendable, buffer.array(), buffer.arrayOffset() + buffer.position(),
+          buffer.remaining());
+    }
+    ByteBuffer source = buffer.duplicate();
+    byte[] bytes = new byte[Math.min(source.remaining(), CHUNK_SIZE)];
+    char[] chars = new char[bytes.length << 1];
+    while (source.hasRemaining()) {
+      int count = Math.min(bytes.length, source.remaining());
+      source.get(bytes, 0, count);
+      encode(bytes, 0, count, chars, 0);
+      write(appendable, chars, count << 1);
+    }
+    return appendable;
+  }
+
+  /**
+   * Reads {@code in} until the end of the stream and appends the hexadecimal representation of
+   * every byte read to {@code appendable}. The stream is read in fixed size chunks, so memory use
+   * is constant regardless of its length. The stream is not closed.
+   */
+  public <A extends Appendable> A appendTo(A appendable, InputStream in) throws IOException {
+    checkNotNull(appendable);
+    checkNotNull(in);
+    byte[] bytes = new byte[CHUNK_SIZE];
+    char[] chars = new char[CHUNK_SIZE << 1];
+    int count;
+    while ((count = in.read(bytes)) != -1) {
+      encode(bytes, 0, count, chars, 0);
+      write(appendable, chars, count << 1);
+    }
+    return appendable;
+  }
+
+  /**
+   * Reads {@code channel} until the end of the stream and appends the hexadecimal representation
+   * of every byte read to {@code appendable}. The channel is read in fixed size chunks, so memory
+   * use is constant regardless of its length. The channel is not closed.
+   *
+   * <p>{@code channel} should be in blocking mode; a non-blocking channel with no data available
+   * is polled until it reaches the end of the stream.
+   */
+  public <A extends Appendable> A appendTo(A appendable, ReadableByteChannel channel)
+      throws IOException {
+    checkNotNull(appendable);
+    checkNotNull(channel);
+    ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE);
+    char[] chars = new char[CHUNK_SIZE << 1];
+    while (channel.read(buffer) != -1) {
+      int count = buffer.position();
+      encode(buffer.array(), 0, count, chars, 0);
+      write(appendable, chars, count << 1);
+      buffer.clear();
+    }
+    return appendable;
+  }
+
+  /**
+   * Appends the hexadecimal representation of {@code bytes} to {@code builder}. Identical to
+   * {@link #appendTo(Appendable, byte[])}, except that it does not throw {@link IOException}.
+   */
+  public StringBuilder appendTo(StringBuilder builder, byte[] bytes) {
+    return appendTo(builder, bytes, 0, bytes.length);
+  }
+
+  /**
+   * Appends the hexadecimal representation of {@code length} bytes of {@code bytes} starting at
+   * {@code offset} to {@code builder}. Identical to {@link #appendTo(Appendable, byte[], int,
+   * int)}, except that it does not throw {@link IOException}.
+   */
+  public StringBuilder appendTo(StringBuilder builder, byte[] bytes, int offset, int length) {
+    try {
+      appendTo((Appendable) builder, bytes, offset, length);
+    } catch (IOException impossible) {
+      throw new AssertionError(impossible);
+    }
+    return builder;
+  }
+
+  /**
+   * Appends the hexadecimal representation of the remaining bytes of {@code buffer} to {@code
+   * builder}. Identical to {@link #appendTo(Appendable, ByteBuffer)}, except that it does not
+   * throw {@link IOException}.
+   */
+  public StringBuilder appendTo(StringBuilder builder, ByteBuffer buffer) {
+    try {
+      appendTo((Appendable) builder, buffer);
+    } catch (IOException impossible) {
+      throw new AssertionError(impossible);
+    }
+    return builder;
+  }
+
+  /**
+   * Encodes {@code length} bytes of {@code bytes} starting at {@code offset} into {@code chars}
+   * starting at {@code charOffset}. {@code chars} must have room for {@code 2 * length}
+   * characters.
+   */
+  void encode(byte[] bytes, int offset, int length, char[] chars, int charOffset) {
+    for (int i = offset, end = offset + length, j = charOffset; i < end; i++) {
+      int b = bytes[i] & 0xff;
+      chars[j++] = high[b];
+      chars[j++] = low[b];
+    }
+  }
+
+  /**
+   * Encodes {@code length} bytes of {@code buffer} starting at the absolute index {@code index}
+   * into {@code chars} starting at {@code charOffset}, without modifying the buffer position.
+   */
+  void encode(ByteBuffer buffer, int index, int length, char[] chars, int charOffset) {
+    if (buffer.hasArray()) {
+      encode(buffer.array(), buffer.arrayOffset() + index, length, chars, charOffset);
+      return;
+    }
+    for (int i = index, end = index + length, j = charOffset; i < end; i++) {
+      int b = buffer.get(i) & 0xff;
+      chars[j++] = high[b];
+      chars[j++] = low[b];
+    }
+  }
+
+  /**
+   * Writes the first {@code count} characters of {@code chars} to {@code appendable}, using the
+   * bulk methods of the well known {@link Appendable} types.
+   */
+  static void write(Appendable appendable, char[] chars, int count) throws IOException {
+    if (appendable instanceof StringBuilder) {
+      ((StringBuilder) appendable).append(chars, 0, count);
+    } else if (appendable instanceof Writer) {
+      ((Writer) appendable).write(chars, 0, count);
+    } else {
+      appendable.append(CharBuffer.wrap(chars, 0, count));
+    }
+  }
+
+  /**
+   * Decodes the hexadecimal string {@code hex} into bytes. Both lower and upper case digits are
+   * accepted.
+   *
+   * @throws IllegalArgumentException if {@code hex} has an odd length or contains a character
+   * which is not a hexadecimal digit
+   */
+  public static byte[] decode(CharSequence hex) {
+    int length = hex.length();
+    checkArgument((length & 1) == 0, "hex string must have an even length");
+    byte[] bytes = new byte[length >> 1];
+    for (int i = 0, j = 0; i < length; i += 2, j++) {
+      bytes[j] = (byte) ((digit(hex, i) << 4) | digit(hex, i + 1));
+    }
+    return bytes;
+  }
+
+  private static int digit(CharSequence hex, int index) {
+    char c = hex.charAt(index);
+    int digit = c < DECODING_TABLE.length ? DECODING_TABLE[c] : -1;
+    if (digit == -1) {
+      throw new IllegalArgumentException(
+          "illegal hex digit '" + c + "' at index " + index);
+    }
+    return digit;
+  }
+}
@@ -0,0 +1,47 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.strings;
+
+/**
+ * Factories of {@link StringInterner}s, which deduplicate strings with equal contents.
+ *
+ * <p>A strong interner keeps every string it has been given for as long as it is reachable
+ * itself, so it suits a bounded set of strings such as tag names or enum-like values. A weak
+ * interner only holds its strings weakly, so the ones which are not used anymore can be garbage
+ * collected, at the price of a {@link java.lang.ref.WeakReference} per string.
+ */
+public final class Interners {
+
+  /**
+   * Returns a new thread-safe interner which retains a strong reference to each string it has
+   * interned, thus preventing these strings from being garbage-collected.
+   */
+  public static StringInterner newStrongInterner() {
+    return new StringInterner(false);
+  }
+
+  /**
+   * Returns a new thread-safe interner which retains a weak reference to each string it has
+   * interned, and so does not prevent these strings from being garbage-collected.
+   */
+  public static StringInterner newWeakInterner() {
+    return new StringInterner(true);
+  }
+
+  private Interners() {
+    // no instances
+  }
+}
@@ -0,0 +1,194 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.strings;
+
+import java.io.IOException;
+import org.jetbrains.annotations.Nullable;
+
+import static com.fernandocejas.arrow.checks.Preconditions.checkElementIndex;
+import static com.fernandocejas.arrow.checks.Preconditions.checkPositionIndexes;
+
+/**
+ * A {@link CharSequence} view of parts joined with a separator, as returned by {@link
+ * Joiner#joinLazily(Iterable)}. Neither the parts nor the separator are ever copied: {@link
+ * #charAt(int)} finds the part of an index with a binary search over their offsets, {@link
+ * #subSequence(int, int)} returns a narrower view over the same parts and {@link #toString()}
+ * flattens the view into a {@link String} the first time it is called only.
+ *
+ * <p>Instances are immutable as long as the parts they were built from are not modified.
+ */
+final class JoinedCharSequence implements CharSequence {
+
+  // the parts, all of them CharSequences, followed by unused slots
+  private final Object[] parts;
+  // offsets[i] is the index of the first character of parts[i] in the whole joined text
+  private final int[] offsets;
+  private final int count;
+  private final String separator;
+  // the range of the whole joined text this view covers
+  private final int start;
+  private final int end;
+  @Nullable private String string;
+
+  private JoinedCharSequence(Object[] parts, int[] offsets, int count, String separator, int start,
+      int end) {
+    this.parts = parts;
+    this.offsets = offsets;
+    this.count = count;
+    this.separator = separator;
+    this.start = start;
+    this.end = end;
+  }
+
+  /**
+   * Returns the first {@code count} {@code parts}, which must all be {@link CharSequence}s, joined
+   * with {@code separator}. {@code parts} is used as is, not copied.
+   */
+  static JoinedCharSequence of(Object[] parts, int count, String separator) {
+    int[] offsets = new int[count];
+    long length = 0;
+    for (int i = 0; i < count; i++) {
+      if (i > 0) {
+        length += separator.length();
+      }
+      offsets[i] = (int) length;
+      length += ((CharSequence) parts[i]).length();
+      if (length > Integer.MAX_VALUE) {
+        throw new OutOfMemoryError("joined length exceeds the maximum CharSequence length");
+      }
+    }
+    return new JoinedCharSequence(parts, offsets, count, separator, 0, (int) length);
+  }
+
+  /**
+   * Appends {@code text} to {@code appendable}, one part at a time if it is a {@code
+   * JoinedCharSequence}.
+   */
+  static void append(Appendable appendable, CharSequence text) throws IOException {
+    if (text instanceof JoinedCharSequence) {
+      ((JoinedCharSequence) text).appendTo(appendable);
+    } else {
+      appendable.append(text);
+    }
+  }
+
+  /**
+   * Appends {@code text} to {@code builder}, one part at a time if it is a {@code
+   * JoinedCharSequence}.
+   */
+  static void append(StringBuilder builder, CharSequence text) {
+    try {
+      append((Appendable) builder, text);
+    } catch (IOException impossible) {
+      throw new AssertionError(impossible);
+    }
+  }
+
+  private void appendTo(Appendable appendable) throws IOException {
+    if (string != null) {
+      appendable.append(string);
+      return;
+    }
+    for (int i = partAt(start), position = start; position < end; i++) {
+      CharSequence part = (CharSequence) parts[i];
+      int partEnd = offsets[i] + part.length();
+      // the part itself, then the separator which follows it
+      position = appendRange(appendable, part, offsets[i], partEnd, position);
+      if (i + 1 < count) {
+        position = appendRange(appendable, separator, partEnd, offsets[i + 1], position);
+      }
+    }
+  }
+
+  /**
+   * Appends the characters of {@code text}, which spans {@code [from, to)} of the whole joined
+   * text, that fall within both {@code [position, end)} of this view, and returns the position
+   * following them.
+   */
+  private int appendRange(Appendable appendable, CharSequence text, int from, int to, int position)
+      throws IOException {
+    int rangeEnd = Math.min(to, end);
+    if (position >= rangeEnd) {
+      return position;
+    }
+    if (position == from && rangeEnd == to) {
+      append(appendable, text);
+    } else if (text instanceof JoinedCharSequence) {
+      append(appendable, text.subSequence(position - from, rangeEnd - from));
+    } else {
+      appendable.append(text, position - from, rangeEnd - from);
+    }
+    return rangeEnd;
+  }
+
+  @Override
+  public int length() {
+    return end - start;
+  }
+
+  @Override
+  public char charAt(int index) {
+    checkElementIndex(index, end - start);
+    int position = start + index;
+    int part = partAt(position);
+    int offset = position - offsets[part];
+    CharSequence text = (CharSequence) parts[part];
+    return offset < text.length() ? text.charAt(offset) : separator.charAt(offset - text.length());
+  }
+
+  /**
+   * Returns the last part starting at or before {@code position} in the whole joined text: {@code
+   * position} falls either within that part or within the separator which follows it.
+   */
+  private int partAt(int position) {
+    int low = 0;
+    int high = count - 1;
+    while (low < high) {
+      int middle = (low + high + 1) >>> 1;
+      if (offsets[middle] <= position) {
+        low = middle;
+      } else {
+        high = middle - 1;
+      }
+    }
+    return low;
+  }
+
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    checkPositionIndexes(start, end, this.end - this.start);
+    if (start == 0 && end == this.end - this.start) {
+      return this;
+    }
+    return new JoinedCharSequence(parts, offsets, count, separator, this.start + start,
+        this.start + end);
+  }
+
+  /**
+   * Returns the joined text, which is built the first time this method is called.
+   */
+  @Override
+  public String toString() {
+    String result = string;
+    if (result == null) {
+      StringBuilder builder = new StringBuilder(end - start);
+      append(builder, this);
+      result = builder.toString();
+      string = result;
+    }
+    return result;
+  }
+}
@@ -16,10 +16,17 @@
 package com.fernandocejas.arrow.strings;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
 import java.util.AbstractList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import org.jetbrains.annotations.Nullable;
 
 import static com.fernandocejas.arrow.checks.Preconditions.checkNotNull;
@@ -60,6 +67,18 @@ import static com.fernandocejas.arrow.checks.Preconditions.checkNotNull;
  */
 public class Joiner {
 
+  /**
+   * Number of parts below which a {@link #parallel(ForkJoinPool) parallel} joiner stays
+   * sequential.
+   */
+  static final int PARALLEL_THRESHOLD = 8192;
+
+  /**
+   * Smallest number of parts converted by a single task of a {@link #parallel(ForkJoinPool)
+   * parallel} joiner.
+   */
+  static final int MIN_PARALLEL_CHUNK = 1024;
+
   private final String separator;
 
   Joiner(String separator) {
@@ -87,10 +106,10 @@ public class Joiner {
   public <A extends Appendable> A appendTo(A appendable, Iterator<?> parts) throws IOException {
     checkNotNull(appendable);
     if (parts.hasNext()) {
-      appendable.append(toString(parts.next()));
+      JoinedCharSequence.append(appendable, toString(parts.next()));
       while (parts.hasNext()) {
         appendable.append(separator);
-        appendable.append(toString(parts.next()));
+        JoinedCharSequence.append(appendable, toString(parts.next()));
       }
     }
     return appendable;
@@ -157,11 +176,81 @@ public class Joiner {
     return appendTo(builder, iterable(first, second, rest));
   }
 
+  /**
+   * Writes the string representation of each of {@code parts}, using the previously configured
+   * separator between each, to {@code out}, encoded with {@code charset}.
+   *
+   * <p>The text is encoded incrementally into a reused buffer which is written to {@code out} in
+   * chunks, so memory use does not depend on the amount of text written. {@link Charsets#UTF_8},
+   * {@link Charsets#US_ASCII} and {@link Charsets#ISO_8859_1} take a dedicated fast path. Like
+   * {@link String#getBytes(Charset)}, malformed and unmappable characters are replaced. {@code
+   * out} is neither flushed nor closed.
+   */
+  public final void writeTo(OutputStream out, Charset charset, Iterable<?> parts)
+      throws IOException {
+    writeTo(out, charset, parts.iterator());
+  }
+
+  /**
+   * Writes the string representation of each of {@code parts}, using the previously configured
+   * separator between each, to {@code out}, encoded with {@code charset}. Identical to {@link
+   * #writeTo(OutputStream, Charset, Iterable)}.
+   */
+  public final void writeTo(OutputStream out, Charset charset, Iterator<?> parts)
+      throws IOException {
+    EncodingAppendable appendable = EncodingAppendable.open(out, charset);
+    try {
+      appendTo(appendable, parts);
+      appendable.finish();
+    } finally {
+      appendable.release();
+    }
+  }
+
+  /**
+   * Writes the string representation of each of {@code parts}, using the previously configured
+   * separator between each, to {@code channel}, encoded with {@code charset}.
+   *
+   * <p>The text is encoded incrementally into a reused buffer which is written to {@code channel}
+   * in chunks, so memory use does not depend on the amount of text written. {@link
+   * Charsets#UTF_8}, {@link Charsets#US_ASCII} and {@link Charsets#ISO_8859_1} take a dedicated
+   * fast path. Like {@link String#getBytes(Charset)}, malformed and unmappable characters are
+   * replaced. {@code channel} is not closed.
+   */
+  public final void writeTo(WritableByteChannel channel, Charset charset, Iterable<?> parts)
+      throws IOException {
+    writeTo(channel, charset, parts.iterator());
+  }
+
+  /**
+   * Writes the string representation of each of {@code parts}, using the previously configured
+   * separator between each, to {@code channel}, encoded with {@code charset}. Identical to {@link
+   * #writeTo(WritableByteChannel, Charset, Iterable)}.
+   */
+  public final void writeTo(WritableByteChannel channel, Charset charset, Iterator<?> parts)
+      throws IOException {
+    EncodingAppendable appendable = EncodingAppendable.open(channel, charset);
+    try {
+      appendTo(appendable, parts);
+      appendable.finish();
+    } finally {
+      appendable.release();
+    }
+  }
+
   /**
    * Returns a string containing the string representation of each of {@code parts}, using the
    * previously configured separator between each.
+   *
+   * <p>If {@code parts} is a {@link Collection}, the length of the result is computed up front and
+   * the parts are copied into a single buffer of exactly that size.
    */
   public final String join(Iterable<?> parts) {
+    if (parts instanceof Collection) {
+      Object[] array = ((Collection<?>) parts).toArray();
+      // toArray() may return a more specific array type (JDK-6260652) which cannot hold Strings
+      return joinExactly(array, array.getClass() == Object[].class);
+    }
     return join(parts.iterator());
   }
 
@@ -172,15 +261,18 @@ public class Joiner {
    * @since 11.0
    */
   public final String join(Iterator<?> parts) {
-    return appendTo(new StringBuilder(), parts).toString();
+    return StringBuilders.release(appendTo(StringBuilders.acquire(0), parts));
   }
 
   /**
    * Returns a string containing the string representation of each of {@code parts}, using the
    * previously configured separator between each.
+   *
+   * <p>The length of the result is computed up front and the parts are copied into a single buffer
+   * of exactly that size.
    */
   public final String join(Object[] parts) {
-    return join(Arrays.asList(parts));
+    return joinExactly(checkNotNull(parts), false);
   }
 
   /**
@@ -191,6 +283,65 @@ public class Joiner {
     return join(iterable(first, second, rest));
   }
 
+  /**
+   * Returns a {@link CharSequence} view of the string representation of each of {@code parts},
+   * using the previously configured separator between each.
+   *
+   * <p>Each part is converted to a {@link CharSequence} right away, but the result is never copied:
+   * {@link CharSequence#charAt(int)}, {@link CharSequence#length()} and {@link
+   * CharSequence#subSequence(int, int)} work on the parts and separators directly, {@link
+   * Object#toString()} builds the joined {@link String} the first time it is called only, and the
+   * {@code appendTo} methods of any {@code Joiner} append the view part by part. This is worth it
+   * when the result is only passed on to another {@link Appendable}. Parts which are mutable
+   * {@link CharSequence}s must not be modified while the view is in use.
+   */
+  public final CharSequence joinLazily(Iterable<?> parts) {
+    if (parts instanceof Collection) {
+      Object[] array = ((Collection<?>) parts).toArray();
+      // toArray() may return a more specific array type (JDK-6260652) which cannot hold Strings
+      return joinLazily(array, array.getClass() == Object[].class);
+    }
+    return joinLazily(parts.iterator());
+  }
+
+  /**
+   * Returns a {@link CharSequence} view of the string representation of each of {@code parts},
+   * using the previously configured separator between each. Identical to {@link
+   * #joinLazily(Iterable)}.
+   */
+  public final CharSequence joinLazily(Iterator<?> parts) {
+    Object[] texts = new Object[16];
+    int count = 0;
+    while (parts.hasNext()) {
+      CharSequence text = convert(parts.next());
+      if (text != null) {
+        if (count == texts.length) {
+          texts = Arrays.copyOf(texts, count * 2);
+        }
+        texts[count++] = text;
+      }
+    }
+    return JoinedCharSequence.of(texts, count, separator);
+  }
+
+  /**
+   * Returns a {@link CharSequence} view of the string representation of each of {@code parts},
+   * using the previously configured separator between each. Identical to {@link
+   * #joinLazily(Iterable)}.
+   */
+  public final CharSequence joinLazily(Object[] parts) {
+    return joinLazily(checkNotNull(parts), false);
+  }
+
+  /**
+   * Returns a {@link CharSequence} view of the string representation of each argument, using the
+   * previously configured separator between each. Identical to {@link #joinLazily(Iterable)}.
+   */
+  public final CharSequence joinLazily(
+      @Nullable Object first, @Nullable Object second, Object... rest) {
+    return joinLazily(iterable(first, second, rest));
+  }
+
   /**
    * Returns a joiner with the same behavior as this one, except automatically substituting {@code
    * nullText} for any provided null elements.
@@ -228,7 +379,7 @@ public class Joiner {
         while (parts.hasNext()) {
           Object part = parts.next();
           if (part != null) {
-            appendable.append(Joiner.this.toString(part));
+            JoinedCharSequence.append(appendable, Joiner.this.toString(part));
             break;
           }
         }
@@ -236,19 +387,499 @@ public class Joiner {
           Object part = parts.next();
           if (part != null) {
             appendable.append(separator);
-            appendable.append(Joiner.this.toString(part));
+            JoinedCharSequence.append(appendable, Joiner.this.toString(part));
           }
         }
         return appendable;
       }
 
+      @Override
+      @Nullable CharSequence convert(@Nullable Object part) {
+        return part == null ? null : Joiner.this.toString(part);
+      }
+
       @Override
       public Joiner useForNull(String nullText) {
         throw new UnsupportedOperationException("already specified skipNulls");
       }
+
+      @Override
+      public MapJoiner withKeyValueSeparator(String kvs) {
+        throw new UnsupportedOperationException("can't use .skipNulls() with maps");
+      }
+    };
+  }
+
+  /**
+   * Returns a joiner with the same behavior as this joiner, except that joining a {@link
+   * Collection} or an array of at least {@value #PARALLEL_THRESHOLD} parts splits them into chunks
+   * which are converted and concatenated in parallel in {@code pool}, then copied into the result
+   * in order. The result is identical to the one of a sequential join.
+   *
+   * <p>This only pays off when converting the parts is expensive, for instance when they are not
+   * {@link CharSequence}s and {@link Object#toString()} has to be called on each of them. Appending
+   * to an {@link Appendable} and joining an {@link Iterator} or an {@link Iterable} which is not a
+   * {@link Collection} stay sequential. The parts must not be modified while they are joined, and
+   * their {@code toString()} must be safe to call from any thread.
+   */
+  public Joiner parallel(final ForkJoinPool pool) {
+    checkNotNull(pool);
+    return new Joiner(this) {
+      @Override
+      public <A extends Appendable> A appendTo(A appendable, Iterator<?> parts)
+          throws IOException {
+        return Joiner.this.appendTo(appendable, parts);
+      }
+
+      @Override
+      String joinExactly(Object[] parts, boolean reusable) {
+        if (parts.length < PARALLEL_THRESHOLD) {
+          return Joiner.this.joinExactly(parts, reusable);
+        }
+        return joinInParallel(Joiner.this, parts, reusable, pool);
+      }
+
+      @Override
+      @Nullable CharSequence convert(@Nullable Object part) {
+        return Joiner.this.convert(part);
+      }
+
+      @Override CharSequence toString(@Nullable Object part) {
+        return Joiner.this.toString(part);
+      }
+
+      @Override
+      public Joiner useForNull(String nullText) {
+        return Joiner.this.useForNull(nullText).parallel(pool);
+      }
+
+      @Override
+      public Joiner skipNulls() {
+        return Joiner.this.skipNulls().parallel(pool);
+      }
+
+      @Override
+      public Joiner parallel(ForkJoinPool pool) {
+        return Joiner.this.parallel(pool);
+      }
+
+      @Override
+      public MapJoiner withKeyValueSeparator(String keyValueSeparator) {
+        return Joiner.this.withKeyValueSeparator(keyValueSeparator);
+      }
     };
   }
 
+  /**
+   * Returns a {@code MapJoiner} using the given key-value separator, and the same configuration as
+   * this {@code Joiner} otherwise.
+   */
+  public MapJoiner withKeyValueSeparator(String keyValueSeparator) {
+    return new MapJoiner(this, keyValueSeparator);
+  }
+
+  /**
+   * An object that joins map entries in the same manner as {@code Joiner} joins iterables and
+   * arrays. Like {@code Joiner}, it is thread-safe and immutable.
+   *
+   * <p>Keys, key-value separators, values and entry separators are appended one by one straight
+   * to the target, so no intermediate {@code "key=value"} string is built for each entry. Keys
+   * and values which already are a {@link CharSequence} are appended as they are.
+   *
+   * @since 2.0
+   */
+  public static final class MapJoiner {
+    private final Joiner joiner;
+    private final String keyValueSeparator;
+
+    private MapJoiner(Joiner joiner, String keyValueSeparator) {
+      this.joiner = joiner; // only "this" is ever passed, so don't checkNotNull
+      this.keyValueSeparator = checkNotNull(keyValueSeparator);
+    }
+
+    /**
+     * Appends the string representation of each entry of {@code map}, using the previously
+     * configured separator and key-value separator, to {@code appendable}.
+     */
+    public <A extends Appendable> A appendTo(A appendable, Map<?, ?> map) throws IOException {
+      return appendTo(appendable, map.entrySet());
+    }
+
+    /**
+     * Appends the string representation of each entry of {@code map}, using the previously
+     * configured separator and key-value separator, to {@code builder}. Identical to {@link
+     * #appendTo(Appendable, Map)}, except that it does not throw {@link IOException}.
+     */
+    public StringBuilder appendTo(StringBuilder builder, Map<?, ?> map) {
+      return appendTo(builder, map.entrySet());
+    }
+
+    /**
+     * Returns a string containing the string representation of each entry of {@code map}, using
+     * the previously configured separator and key-value separator.
+     */
+    public String join(Map<?, ?> map) {
+      return join(map.entrySet());
+    }
+
+    /**
+     * Appends the string representation of each entry in {@code entries}, using the previously
+     * configured separator and key-value separator, to {@code appendable}.
+     *
+     * @since 10.0
+     */
+    public <A extends Appendable> A appendTo(A appendable, Iterable<? extends Entry<?, ?>> entries)
+        throws IOException {
+      return appendTo(appendable, entries.iterator());
+    }
+
+    /**
+     * Appends the string representation of each entry in {@code entries}, using the previously
+     * configured separator and key-value separator, to {@code appendable}.
+     *
+     * @since 11.0
+     */
+    public <A extends Appendable> A appendTo(A appendable, Iterator<? extends Entry<?, ?>> parts)
+        throws IOException {
+      checkNotNull(appendable);
+      if (parts.hasNext()) {
+        appendEntry(appendable, parts.next());
+        while (parts.hasNext()) {
+          appendable.append(joiner.separator);
+          appendEntry(appendable, parts.next());
+        }
+      }
+      return appendable;
+    }
+
+    private void appendEntry(Appendable appendable, Entry<?, ?> entry) throws IOException {
+      JoinedCharSequence.append(appendable, joiner.toString(entry.getKey()));
+      appendable.append(keyValueSeparator);
+      JoinedCharSequence.append(appendable, joiner.toString(entry.getValue()));
+    }
+
+    /**
+     * Appends the string representation of each entry in {@code entries}, using the previously
+     * configured separator and key-value separator, to {@code builder}. Identical to {@link
+     * #appendTo(Appendable, Iterable)}, except that it does not throw {@link IOException}.
+     *
+     * @since 10.0
+     */
+    public StringBuilder appendTo(StringBuilder builder, Iterable<? extends Entry<?, ?>> entries) {
+      return appendTo(builder, entries.iterator());
+    }
+
+    /**
+     * Appends the string representation of each entry in {@code entries}, using the previously
+     * configured separator and key-value separator, to {@code builder}. Identical to {@link
+     * #appendTo(Appendable, Iterable)}, except that it does not throw {@link IOException}.
+     *
+     * @since 11.0
+     */
+    public StringBuilder appendTo(StringBuilder builder, Iterator<? extends Entry<?, ?>> entries) {
+      try {
+        appendTo((Appendable) builder, entries);
+      } catch (IOException impossible) {
+        throw new AssertionError(impossible);
+      }
+      return builder;
+    }
+
+    /**
+     * Returns a string containing the string representation of each entry in {@code entries},
+     * using the previously configured separator and key-value separator.
+     *
+     * @since 10.0
+     */
+    public String join(Iterable<? extends Entry<?, ?>> entries) {
+      return join(entries.iterator());
+    }
+
+    /**
+     * Returns a string containing the string representation of each entry in {@code entries},
+     * using the previously configured separator and key-value separator.
+     *
+     * @since 11.0
+     */
+    public String join(Iterator<? extends Entry<?, ?>> entries) {
+      return StringBuilders.release(appendTo(StringBuilders.acquire(0), entries));
+    }
+
+    /**
+     * Returns a map joiner with the same behavior as this one, except automatically substituting
+     * {@code nullText} for any provided null keys or values.
+     */
+    public MapJoiner useForNull(String nullText) {
+      return new MapJoiner(joiner.useForNull(nullText), keyValueSeparator);
+    }
+  }
+
+  /**
+   * Converts {@code parts} and returns a {@link JoinedCharSequence} over them.
+   *
+   * @param parts the parts to join
+   * @param reusable whether {@code parts} is a private copy which can hold the converted parts
+   */
+  private CharSequence joinLazily(Object[] parts, boolean reusable) {
+    Object[] texts = reusable ? parts : new Object[parts.length];
+    int count = 0;
+    for (Object part : parts) {
+      CharSequence text = part instanceof CharSequence ? (CharSequence) part : convert(part);
+      if (text != null) {
+        texts[count++] = text;
+      }
+    }
+    return JoinedCharSequence.of(texts, count, separator);
+  }
+
+  /**
+   * Joins {@code parts} in two passes: the first one converts every part to a {@link CharSequence}
+   * exactly once and sums up the lengths, the second one copies them into a buffer of the exact
+   * size of the result, so it is never grown.
+   *
+   * @param parts the parts to join
+   * @param reusable whether {@code parts} is a private copy which can hold the converted parts
+   */
+  String joinExactly(Object[] parts, boolean reusable) {
+    // the converted parts, allocated only once a part is converted into a different object
+    Object[] texts = reusable ? parts : null;
+    long length = 0;
+    int count = 0;
+    for (int i = 0; i < parts.length; i++) {
+      Object part = parts[i];
+      CharSequence text = part instanceof CharSequence ? (CharSequence) part : convert(part);
+      if (text != part && texts == null) {
+        texts = new Object[parts.length];
+        System.arraycopy(parts, 0, texts, 0, i);
+      }
+      if (texts != null) {
+        texts[i] = text;
+      }
+      if (text != null) {
+        length += text.length();
+        count++;
+      }
+    }
+    if (count > 1) {
+      length += (long) separator.length() * (count - 1);
+    }
+    if (length > Integer.MAX_VALUE) {
+      throw new OutOfMemoryError("joined length " + length + " exceeds the maximum String length");
+    }
+    if (texts == null) {
+      texts = parts;
+    }
+
+    StringBuilder builder = StringBuilders.acquire((int) length);
+    boolean first = true;
+    for (Object text : texts) {
+      if (text != null) {
+        if (!first) {
+          builder.append(separator);
+        }
+        JoinedCharSequence.append(builder, (CharSequence) text);
+        first = false;
+      }
+    }
+    return StringBuilders.release(builder);
+  }
+
+  /**
+   * Joins {@code parts} with {@code joiner} in {@code pool}, in two parallel passes over chunks of
+   * {@code parts}. The first converts the parts and measures each chunk, which gives every chunk
+   * its offset in a buffer of the exact size of the result. The second copies each chunk straight
+   * into that buffer, so every character is copied once before the final copy into the string.
+   */
+  private static String joinInParallel(
+      Joiner joiner, Object[] parts, boolean reusable, ForkJoinPool pool) {
+    int chunkSize = Math.max(MIN_PARALLEL_CHUNK, parts.length / (pool.getParallelism() * 4) + 1);
+    ParallelJoin join = new ParallelJoin(joiner, parts,
+        reusable ? parts : new Object[parts.length], chunkSize);
+    pool.invoke(new JoinTask(join, false, 0, join.chunkCount));
+    join.allocate();
+    pool.invoke(new JoinTask(join, true, 0, join.chunkCount));
+    return new String(join.result);
+  }
+
+  /**
+   * The state shared by the tasks of a parallel join.
+   */
+  private static final class ParallelJoin {
+    final Joiner joiner;
+    final Object[] parts;
+    final Object[] texts;
+    final int chunkSize;
+    final int chunkCount;
+    // per chunk: the total length of its texts, their number, and the number before the chunk
+    final long[] lengths;
+    final int[] counts;
+    final int[] textsBefore;
+    final int[] offsets;
+    char[] result;
+
+    ParallelJoin(Joiner joiner, Object[] parts, Object[] texts, int chunkSize) {
+      this.joiner = joiner;
+      this.parts = parts;
+      this.texts = texts;
+      this.chunkSize = chunkSize;
+      this.chunkCount = (parts.length + chunkSize - 1) / chunkSize;
+      this.lengths = new long[chunkCount];
+      this.counts = new int[chunkCount];
+      this.textsBefore = new int[chunkCount];
+      this.offsets = new int[chunkCount];
+    }
+
+    /**
+     * Converts the parts of {@code chunk}, keeping the texts for {@link #copy}.
+     */
+    void measure(int chunk) {
+      int start = chunk * chunkSize;
+      int end = Math.min(parts.length, start + chunkSize);
+      long length = 0;
+      int count = 0;
+      for (int i = start; i < end; i++) {
+        Object part = parts[i];
+        CharSequence text =
+            part instanceof CharSequence ? (CharSequence) part : joiner.convert(part);
+        texts[i] = text;
+        if (text != null) {
+          length += text.length();
+          count++;
+        }
+      }
+      lengths[chunk] = length;
+      counts[chunk] = count;
+    }
+
+    /**
+     * Gives every chunk its offset in the result, a separator going before every text but the
+     * first one, and allocates the result.
+     */
+    void allocate() {
+      int separatorLength = joiner.separator.length();
+      long position = 0;
+      int count = 0;
+      for (int chunk = 0; chunk < chunkCount; chunk++) {
+        if (position > Integer.MAX_VALUE) {
+          break;
+        }
+        offsets[chunk] = (int) position;
+        textsBefore[chunk] = count;
+        int separators = count == 0 ? Math.max(0, counts[chunk] - 1) : counts[chunk];
+        position += lengths[chunk] + (long) separatorLength * separators;
+        count += counts[chunk];
+      }
+      if (position > Integer.MAX_VALUE) {
+        throw new OutOfMemoryError(
+            "joined length " + position + " exceeds the maximum String length");
+      }
+      result = new char[(int) position];
+    }
+
+    /**
+     * Copies the texts of {@code chunk} and the separators before them into the result.
+     */
+    void copy(int chunk) {
+      int start = chunk * chunkSize;
+      int end = Math.min(parts.length, start + chunkSize);
+      CharArrayAppendable out = new CharArrayAppendable(result, offsets[chunk]);
+      boolean first = textsBefore[chunk] == 0;
+      try {
+        for (int i = start; i < end; i++) {
+          Object text = texts[i];
+          if (text != null) {
+            if (!first) {
+              out.append(joiner.separator);
+            }
+            JoinedCharSequence.append(out, (CharSequence) text);
+            first = false;
+          }
+        }
+      } catch (IOException impossible) {
+        throw new AssertionError(impossible);
+      }
+    }
+  }
+
+  /**
+   * Runs {@link ParallelJoin#measure} or {@link ParallelJoin#copy} on the chunks {@code [from,
+   * to)}, splitting the range in halves until a single chunk is left.
+   */
+  private static final class JoinTask extends RecursiveAction {
+    private static final long serialVersionUID = 0;
+
+    private final ParallelJoin join;
+    private final boolean copy;
+    private final int from;
+    private final int to;
+
+    JoinTask(ParallelJoin join, boolean copy, int from, int to) {
+      this.join = join;
+      this.copy = copy;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from > 1) {
+        int middle = (from + to) >>> 1;
+        invokeAll(new JoinTask(join, copy, from, middle), new JoinTask(join, copy, middle, to));
+      } else if (copy) {
+        join.copy(from);
+      } else {
+        join.measure(from);
+      }
+    }
+  }
+
+  /**
+   * Writes the characters appended to it into an array, starting at a given position. The array
+   * must have room for all of them.
+   */
+  private static final class CharArrayAppendable implements Appendable {
+    private final char[] chars;
+    private int position;
+
+    CharArrayAppendable(char[] chars, int position) {
+      this.chars = chars;
+      this.position = position;
+    }
+
+    @Override
+    public Appendable append(CharSequence csq) {
+      return append(csq, 0, csq.length());
+    }
+
+    @Override
+    public Appendable append(CharSequence csq, int start, int end) {
+      if (csq instanceof String) {
+        ((String) csq).getChars(start, end, chars, position);
+      } else if (csq instanceof StringBuilder) {
+        ((StringBuilder) csq).getChars(start, end, chars, position);
+      } else {
+        for (int i = start; i < end; i++) {
+          chars[position + i - start] = csq.charAt(i);
+        }
+      }
+      position += end - start;
+      return this;
+    }
+
+    @Override
+    public Appendable append(char c) {
+      chars[position++] = c;
+      return this;
+    }
+  }
+
+  /**
+   * Converts {@code part} into the text to join, or returns {@code null} if it must be skipped.
+   */
+  @Nullable CharSequence convert(@Nullable Object part) {
+    return toString(part);
+  }
+
   CharSequence toString(Object part) {
     checkNotNull(part);  // checkNotNull for GWT (do not optimize).
     return part instanceof CharSequence ? (CharSequence) part : part.toString();
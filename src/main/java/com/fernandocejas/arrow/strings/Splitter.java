@@ -0,0 +1,455 @@
+/**
+ * Copyright (C) 2009 The Guava Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.strings;
+
+import com.fernandocejas.arrow.collections.AbstractIterator;
+import com.fernandocejas.arrow.collections.Iterables;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.fernandocejas.arrow.checks.Preconditions.checkArgument;
+import static com.fernandocejas.arrow.checks.Preconditions.checkNotNull;
+
+/**
+ * Extracts non-overlapping substrings from an input string, typically by recognizing appearances
+ * of a <i>separator</i> sequence. This separator can be specified as a single character, a fixed
+ * string or a regular expression. Example: <pre>   {@code
+ * <p/>
+ *   Strings.splitOn(',').trimResults().omitEmptyStrings().split("foo, ,bar,, qux");}</pre>
+ * <p/>
+ * <p>This returns an iterable containing {@code ["foo", "bar", "qux"]}. Unlike {@link
+ * String#split(String)}, splitting is lazy: nothing is computed until the returned {@link Iterable}
+ * is iterated, and each element is produced on demand. A single character or fixed string
+ * separator never touches {@code java.util.regex}.
+ * <p/>
+ * <p>{@link #splitToViews(CharSequence)} avoids copying the characters of each element: it returns
+ * {@link CharSequence} views over the input, which is useful when the elements are only appended
+ * somewhere else or parsed.
+ * <p/>
+ * <p><b>Warning: splitter instances are always immutable</b>; a configuration method such as
+ * {@code omitEmptyStrings} has no effect on the instance it is invoked on! You must store and use
+ * the new splitter instance returned by the method. This makes splitters thread-safe, and safe to
+ * store as {@code static final} constants.
+ * <p/>
+ * <p>See the Guava User Guide article on <a href=
+ * "http://code.google.com/p/guava-libraries/wiki/StringsExplained#Splitter">{@code Splitter}</a>.
+ *
+ * <p><b>This class contains code derived from <a href="https://github.com/google/guava">Google
+ * Guava</a></b>
+ *
+ * @author Julien Silland
+ * @author Jesse Wilson
+ * @author Kevin Bourrillion
+ * @author Louis Wasserman
+ */
+public final class Splitter {
+
+  private final Strategy strategy;
+  private final boolean omitEmptyStrings;
+  private final boolean trimResults;
+  private final int limit;
+
+  private Splitter(Strategy strategy) {
+    this(strategy, false, false, Integer.MAX_VALUE);
+  }
+
+  private Splitter(Strategy strategy, boolean omitEmptyStrings, boolean trimResults, int limit) {
+    this.strategy = strategy;
+    this.omitEmptyStrings = omitEmptyStrings;
+    this.trimResults = trimResults;
+    this.limit = limit;
+  }
+
+  static Splitter on(final char separator) {
+    return new Splitter(new Strategy() {
+      @Override
+      SplittingIterator iterator(Splitter splitter, CharSequence toSplit, boolean views) {
+        if (toSplit instanceof String) {
+          final String string = (String) toSplit;
+          return new SplittingIterator(splitter, toSplit, views) {
+            @Override
+            int separatorStart(int start) {
+              return string.indexOf(separator, start);
+            }
+
+            @Override
+            int separatorEnd(int separatorPosition) {
+              return separatorPosition + 1;
+            }
+          };
+        }
+        return new SplittingIterator(splitter, toSplit, views) {
+          @Override
+          int separatorStart(int start) {
+            for (int position = start, length = toSplit.length(); position < length; position++) {
+              if (toSplit.charAt(position) == separator) {
+                return position;
+              }
+            }
+            return -1;
+          }
+
+          @Override
+          int separatorEnd(int separatorPosition) {
+            return separatorPosition + 1;
+          }
+        };
+      }
+    });
+  }
+
+  static Splitter on(final String separator) {
+    checkArgument(separator.length() != 0, "The separator may not be the empty string.");
+    if (separator.length() == 1) {
+      return on(separator.charAt(0));
+    }
+    return new Splitter(new Strategy() {
+      @Override
+      SplittingIterator iterator(Splitter splitter, CharSequence toSplit, boolean views) {
+        if (toSplit instanceof String) {
+          final String string = (String) toSplit;
+          return new SplittingIterator(splitter, toSplit, views) {
+            @Override
+            int separatorStart(int start) {
+              return string.indexOf(separator, start);
+            }
+
+            @Override
+            int separatorEnd(int separatorPosition) {
+              return separatorPosition + separator.length();
+            }
+          };
+        }
+        return new SplittingIterator(splitter, toSplit, views) {
+          @Override
+          int separatorStart(int start) {
+            int separatorLength = separator.length();
+            positions:
+            for (int p = start, last = toSplit.length() - separatorLength; p <= last; p++) {
+              for (int i = 0; i < separatorLength; i++) {
+                if (toSplit.charAt(i + p) != separator.charAt(i)) {
+                  continue positions;
+                }
+              }
+              return p;
+            }
+            return -1;
+          }
+
+          @Override
+          int separatorEnd(int separatorPosition) {
+            return separatorPosition + separator.length();
+          }
+        };
+      }
+    });
+  }
+
+  static Splitter on(final Pattern separatorPattern) {
+    checkNotNull(separatorPattern);
+    checkArgument(!separatorPattern.matcher("").matches(),
+        "The pattern may not match the empty string: " + separatorPattern);
+    return new Splitter(new Strategy() {
+      @Override
+      SplittingIterator iterator(Splitter splitter, CharSequence toSplit, boolean views) {
+        final Matcher matcher = separatorPattern.matcher(toSplit);
+        return new SplittingIterator(splitter, toSplit, views) {
+          @Override
+          int separatorStart(int start) {
+            return matcher.find(start) ? matcher.start() : -1;
+          }
+
+          @Override
+          int separatorEnd(int separatorPosition) {
+            return matcher.end();
+          }
+        };
+      }
+    });
+  }
+
+  /**
+   * Returns a splitter that behaves equivalently to {@code this} splitter, but automatically omits
+   * empty strings from the results. For example, {@code
+   * Strings.splitOn(',').omitEmptyStrings().split(",a,,,b,c,,")} returns an iterable containing
+   * only {@code ["a", "b", "c"]}.
+   *
+   * <p>If either {@code trimResults} option is also specified when creating a splitter, that
+   * splitter always trims results first before checking for emptiness. So, for example, {@code
+   * Strings.splitOn(':').omitEmptyStrings().trimResults().split(": : : ")} returns an empty
+   * iterable.
+   */
+  public Splitter omitEmptyStrings() {
+    return new Splitter(strategy, true, trimResults, limit);
+  }
+
+  /**
+   * Returns a splitter that behaves equivalently to {@code this} splitter but stops splitting
+   * after it reaches the limit. The limit defines the maximum number of items returned by the
+   * iterator.
+   *
+   * <p>For example, {@code Strings.splitOn(',').limit(3).split("a,b,c,d")} returns an iterable
+   * containing {@code ["a", "b", "c,d"]}. When omitting empty strings, the omitted strings do no
+   * count. Hence, {@code Strings.splitOn(',').limit(3).omitEmptyStrings().split("a,,,b,,,c,d")}
+   * returns an iterable containing {@code ["a", "b", "c,d"}. When trim is requested, all entries,
+   * including the last are trimmed.
+   *
+   * @param limit the maximum number of items returned
+   * @return a splitter with the desired configuration
+   * @throws IllegalArgumentException if {@code limit} is not positive
+   */
+  public Splitter limit(int limit) {
+    checkArgument(limit > 0, "must be greater than zero: " + limit);
+    return new Splitter(strategy, omitEmptyStrings, trimResults, limit);
+  }
+
+  /**
+   * Returns a splitter that behaves equivalently to {@code this} splitter, but automatically
+   * removes leading and trailing whitespace, as defined by {@link Character#isWhitespace(char)},
+   * from each returned substring. For example, {@code
+   * Strings.splitOn(',').trimResults().split(" a, b ,c ")} returns an iterable containing {@code
+   * ["a", "b", "c"]}.
+   */
+  public Splitter trimResults() {
+    return new Splitter(strategy, omitEmptyStrings, true, limit);
+  }
+
+  /**
+   * Splits {@code sequence} into string components and makes them available through an {@link
+   * Iterator}, which may be lazily evaluated.
+   *
+   * @param sequence the sequence of characters to split
+   * @return an iteration over the segments split from the parameter.
+   */
+  public Iterable<String> split(final CharSequence sequence) {
+    checkNotNull(sequence);
+    return new Iterable<String>() {
+      @Override
+      @SuppressWarnings("unchecked") // without views, every element is a String
+      public Iterator<String> iterator() {
+        return (Iterator<String>) (Iterator<?>) strategy.iterator(Splitter.this, sequence, false);
+      }
+
+      @Override
+      public String toString() {
+        return Iterables.toString(this);
+      }
+    };
+  }
+
+  /**
+   * Splits {@code sequence} like {@link #split(CharSequence)} does, but returns each component as
+   * a {@link CharSequence} view over {@code sequence} instead of a copy. No characters are copied
+   * until {@link CharSequence#toString()} is called on a component.
+   *
+   * <p>The returned views do not override {@link Object#equals(Object)}, and, if {@code sequence}
+   * is mutable, they reflect later changes to it.
+   *
+   * @param sequence the sequence of characters to split
+   * @return an iteration over the segments split from the parameter.
+   */
+  public Iterable<CharSequence> splitToViews(final CharSequence sequence) {
+    checkNotNull(sequence);
+    return new Iterable<CharSequence>() {
+      @Override
+      public Iterator<CharSequence> iterator() {
+        return strategy.iterator(Splitter.this, sequence, true);
+      }
+
+      @Override
+      public String toString() {
+        return Iterables.toString(this);
+      }
+    };
+  }
+
+  /**
+   * Splits {@code sequence} into string components and returns them as an immutable list.
+   *
+   * @param sequence the sequence of characters to split
+   * @return an immutable list of the segments split from the parameter
+   */
+  public List<String> splitToList(CharSequence sequence) {
+    checkNotNull(sequence);
+    Iterator<CharSequence> iterator = strategy.iterator(this, sequence, false);
+    List<String> result = new ArrayList<>();
+    while (iterator.hasNext()) {
+      result.add(iterator.next().toString());
+    }
+    return Collections.unmodifiableList(result);
+  }
+
+  private abstract static class Strategy {
+    /**
+     * Returns an iterator over the components of {@code toSplit}: {@link CharSequence} views if
+     * {@code views} is true, {@link String} copies otherwise.
+     */
+    abstract SplittingIterator iterator(Splitter splitter, CharSequence toSplit, boolean views);
+  }
+
+  private abstract static class SplittingIterator extends AbstractIterator<CharSequence> {
+    final CharSequence toSplit;
+    final boolean trimResults;
+    final boolean omitEmptyStrings;
+    final boolean views;
+
+    /**
+     * Returns the first index in {@code toSplit} at or after {@code start} that contains the
+     * separator.
+     */
+    abstract int separatorStart(int start);
+
+    /**
+     * Returns the first index in {@code toSplit} after {@code separatorPosition} that does not
+     * contain a separator. This method is only invoked after a call to {@code separatorStart}.
+     */
+    abstract int separatorEnd(int separatorPosition);
+
+    int offset;
+    int limit;
+
+    SplittingIterator(Splitter splitter, CharSequence toSplit, boolean views) {
+      this.views = views;
+      this.trimResults = splitter.trimResults;
+      this.omitEmptyStrings = splitter.omitEmptyStrings;
+      this.limit = splitter.limit;
+      this.toSplit = toSplit;
+    }
+
+    @Override
+    protected CharSequence computeNext() {
+      /*
+       * The returned string will be from the end of the last match to the beginning of the next
+       * one. nextStart is the start position of the returned substring, while offset is the place
+       * to start looking for a separator.
+       */
+      int nextStart = offset;
+      while (offset != -1) {
+        int start = nextStart;
+        int end;
+
+        int separatorPosition = separatorStart(offset);
+        if (separatorPosition == -1) {
+          end = toSplit.length();
+          offset = -1;
+        } else {
+          end = separatorPosition;
+          offset = separatorEnd(separatorPosition);
+        }
+        if (offset == nextStart) {
+          /*
+           * This occurs when some pattern has an empty match, even if it doesn't match the empty
+           * string -- for example, if it requires lookahead or the like. The offset must be
+           * increased to look for separators beyond this point, without changing the start
+           * position of the next returned substring -- so nextStart stays the same.
+           */
+          offset++;
+          if (offset > toSplit.length()) {
+            offset = -1;
+          }
+          continue;
+        }
+
+        if (trimResults) {
+          while (start < end && Character.isWhitespace(toSplit.charAt(start))) {
+            start++;
+          }
+          while (end > start && Character.isWhitespace(toSplit.charAt(end - 1))) {
+            end--;
+          }
+        }
+
+        if (omitEmptyStrings && start == end) {
+          // Don't include the (unused) separator in next split string.
+          nextStart = offset;
+          continue;
+        }
+
+        if (limit == 1) {
+          // The limit has been reached, return the rest of the string as the
+          // final item. This is tested after empty string removal so that
+          // empty strings do not count towards the limit.
+          end = toSplit.length();
+          offset = -1;
+          // Since we may have changed the end, we need to trim it again.
+          if (trimResults) {
+            while (end > start && Character.isWhitespace(toSplit.charAt(end - 1))) {
+              end--;
+            }
+          }
+        } else {
+          limit--;
+        }
+
+        return views ? new SubSequence(toSplit, start, end) : substring(toSplit, start, end);
+      }
+      return endOfData();
+    }
+  }
+
+  /**
+   * A {@link CharSequence} view over a range of another one, which copies characters only when
+   * converted to a {@link String}.
+   */
+  static final class SubSequence implements CharSequence {
+    final CharSequence sequence;
+    final int start;
+    final int end;
+
+    SubSequence(CharSequence sequence, int start, int end) {
+      this.sequence = sequence;
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    public int length() {
+      return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+      if (index < 0 || index >= end - start) {
+        throw new IndexOutOfBoundsException("index: " + index + ", length: " + (end - start));
+      }
+      return sequence.charAt(start + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int from, int to) {
+      if (from < 0 || to < from || to > end - start) {
+        throw new IndexOutOfBoundsException(
+            "from: " + from + ", to: " + to + ", length: " + (end - start));
+      }
+      return new SubSequence(sequence, start + from, start + to);
+    }
+
+    @Override
+    public String toString() {
+      return substring(sequence, start, end);
+    }
+  }
+
+  static String substring(CharSequence sequence, int start, int end) {
+    return sequence instanceof String
+        ? ((String) sequence).substring(start, end)
+        : sequence.subSequence(start, end).toString();
+  }
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.strings;
+
+import com.fernandocejas.arrow.annotations.Internal;
+
+/**
+ * A per-thread arena of {@link StringBuilder}s, for the methods of this library which build a
+ * string and throw their builder away: {@link Joiner#join(Iterable)}, {@code
+ * MoreObjects.ToStringHelper#toString()} and the messages of {@code Preconditions}.
+ *
+ * <p>Each thread retains at most one builder, of at most {@link #MAX_RETAINED_CAPACITY}
+ * characters, so an occasional large string does not pin a large buffer. A builder is handed out
+ * to one caller at a time: a nested call, such as a {@code toString()} building its own string
+ * while an outer one is being built, gets a fresh builder.
+ *
+ * <p>Pooling can be disabled by setting the {@value #DISABLED_PROPERTY} system property to {@code
+ * true}, in which case every call gets a new builder.
+ */
+@Internal
+public final class StringBuilders {
+
+  /**
+   * The system property which disables pooling when set to {@code true}.
+   */
+  public static final String DISABLED_PROPERTY = "com.fernandocejas.arrow.stringBuilders.disabled";
+
+  /**
+   * The largest capacity, in characters, of a builder returned to the arena.
+   */
+  static final int MAX_RETAINED_CAPACITY = 8 * 1024;
+
+  private static final int INITIAL_CAPACITY = 256;
+
+  private static final boolean DISABLED = Boolean.getBoolean(DISABLED_PROPERTY);
+
+  // a one element array, so taking and returning the builder does not go through ThreadLocal.set()
+  private static final ThreadLocal<StringBuilder[]> POOL = new ThreadLocal<StringBuilder[]>() {
+    @Override
+    protected StringBuilder[] initialValue() {
+      return new StringBuilder[1];
+    }
+  };
+
+  /**
+   * Returns an empty builder with room for at least {@code capacity} characters, which the caller
+   * owns until it passes it to {@link #release(StringBuilder)}.
+   */
+  public static StringBuilder acquire(int capacity) {
+    if (DISABLED || capacity > MAX_RETAINED_CAPACITY) {
+      return new StringBuilder(capacity);
+    }
+    StringBuilder[] slot = POOL.get();
+    StringBuilder builder = slot[0];
+    if (builder == null) {
+      return new StringBuilder(Math.max(capacity, INITIAL_CAPACITY));
+    }
+    slot[0] = null;
+    builder.ensureCapacity(capacity);
+    return builder;
+  }
+
+  /**
+   * Returns the contents of {@code builder}, which must have been obtained from {@link
+   * #acquire(int)} and must not be used anymore, and gives it back to the arena unless it has
+   * grown beyond {@link #MAX_RETAINED_CAPACITY}.
+   */
+  public static String release(StringBuilder builder) {
+    String string = builder.toString();
+    if (!DISABLED && builder.capacity() <= MAX_RETAINED_CAPACITY) {
+      StringBuilder[] slot = POOL.get();
+      if (slot[0] == null) {
+        builder.setLength(0);
+        slot[0] = builder;
+      }
+    }
+    return string;
+  }
+
+  private StringBuilders() {
+    // no instances
+  }
+}
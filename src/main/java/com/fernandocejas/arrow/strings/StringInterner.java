@@ -0,0 +1,327 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.strings;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.fernandocejas.arrow.checks.Preconditions.checkFromIndexSize;
+import static com.fernandocejas.arrow.checks.Preconditions.checkNotNull;
+import static com.fernandocejas.arrow.checks.Preconditions.checkPositionIndexes;
+
+/**
+ * A thread-safe pool of canonical {@link String} instances: interning a string returns the
+ * instance already in the pool with the same contents, or adds it to the pool if there is none, in
+ * the manner of {@link String#intern()}. Obtain instances from {@link Interners}.
+ *
+ * <p>Besides strings, {@link CharSequence}s, ranges of them and ranges of {@code char} arrays can
+ * be interned: they are looked up by their contents, and a new {@link String} is only created when
+ * the pool has none with the same contents. Combined with {@link Splitter#splitToViews}, this
+ * turns repeated tokens into shared strings without creating a temporary string per token.
+ *
+ * <p>The pool is an open-addressing hash table split into independently locked segments. Each
+ * segment counts its {@linkplain #hitCount() hits} and {@linkplain #missCount() misses}: every hit
+ * is a string which did not have to be kept, or created at all.
+ */
+public final class StringInterner {
+
+  private static final int SEGMENT_BITS = 4;
+  private static final int SEGMENT_COUNT = 1 << SEGMENT_BITS;
+  private static final int INITIAL_SEGMENT_CAPACITY = 16;
+
+  /**
+   * Marks the slot of a weak entry whose string has been collected, so lookups keep probing past
+   * it.
+   */
+  private static final Object TOMBSTONE = new Object();
+
+  private final Segment[] segments = new Segment[SEGMENT_COUNT];
+  private final boolean weak;
+
+  StringInterner(boolean weak) {
+    this.weak = weak;
+    for (int i = 0; i < SEGMENT_COUNT; i++) {
+      segments[i] = new Segment();
+    }
+  }
+
+  /**
+   * Returns the canonical instance of {@code string}, which is {@code string} itself if the pool
+   * held no string with the same contents.
+   */
+  public String intern(String string) {
+    return intern(string.hashCode(), string, 0, string.length());
+  }
+
+  /**
+   * Returns the canonical instance of the contents of {@code sequence}, creating it only if the
+   * pool held no string with the same contents.
+   */
+  public String intern(CharSequence sequence) {
+    if (sequence instanceof String) {
+      return intern((String) sequence);
+    }
+    if (sequence instanceof Splitter.SubSequence) {
+      Splitter.SubSequence view = (Splitter.SubSequence) sequence;
+      return intern(view.sequence, view.start, view.end);
+    }
+    return intern(sequence, 0, sequence.length());
+  }
+
+  /**
+   * Returns the canonical instance of the characters of {@code sequence} from {@code start}
+   * (inclusive) to {@code end} (exclusive), creating it only if the pool held no string with the
+   * same contents.
+   *
+   * @throws IndexOutOfBoundsException if {@code start} or {@code end} are not valid indexes of
+   * {@code sequence}, or if {@code end} is less than {@code start}
+   */
+  public String intern(CharSequence sequence, int start, int end) {
+    checkPositionIndexes(start, end, sequence.length());
+    int hash = 0;
+    if (sequence instanceof String) {
+      String string = (String) sequence;
+      for (int i = start; i < end; i++) {
+        hash = 31 * hash + string.charAt(i);
+      }
+    } else {
+      for (int i = start; i < end; i++) {
+        hash = 31 * hash + sequence.charAt(i);
+      }
+    }
+    return intern(hash, sequence, start, end);
+  }
+
+  /**
+   * Returns the canonical instance of the {@code length} characters of {@code chars} starting at
+   * {@code offset}, creating it only if the pool held no string with the same contents.
+   *
+   * @throws IndexOutOfBoundsException if {@code offset} and {@code length} do not denote a range of
+   * {@code chars}
+   */
+  public String intern(char[] chars, int offset, int length) {
+    checkFromIndexSize(offset, length, chars.length);
+    int hash = 0;
+    for (int i = offset; i < offset + length; i++) {
+      hash = 31 * hash + chars[i];
+    }
+    return intern(hash, chars, offset, offset + length);
+  }
+
+  /**
+   * Returns the number of calls which found a string already in the pool.
+   */
+  public long hitCount() {
+    long count = 0;
+    for (Segment segment : segments) {
+      count += segment.hits;
+    }
+    return count;
+  }
+
+  /**
+   * Returns the number of calls which added a string to the pool.
+   */
+  public long missCount() {
+    long count = 0;
+    for (Segment segment : segments) {
+      count += segment.misses;
+    }
+    return count;
+  }
+
+  /**
+   * Returns the number of strings in the pool. For a weak interner, this may include strings which
+   * have been garbage collected but not yet removed from the pool.
+   */
+  public int size() {
+    int size = 0;
+    for (Segment segment : segments) {
+      size += segment.size;
+    }
+    return size;
+  }
+
+  /**
+   * Interns the characters of {@code source}, a {@link CharSequence} or a {@code char[]}, from
+   * {@code start} to {@code end}, whose {@link String#hashCode()} is {@code hash}.
+   */
+  private String intern(int hash, Object source, int start, int end) {
+    checkNotNull(source);
+    // the hash codes of short strings leave their top bits clear, so the segment is chosen by the
+    // top bits of the hash multiplied by the golden ratio, which depend on all of its bits
+    Segment segment = segments[(hash * 0x9E3779B9) >>> (32 - SEGMENT_BITS)];
+    // spread the higher bits downwards, as the lower ones choose the slot in a segment
+    int h = hash ^ (hash >>> 16);
+    return segment.intern(h, source, start, end, weak);
+  }
+
+  private static boolean contentEquals(String candidate, Object source, int start, int end) {
+    if (candidate.length() != end - start) {
+      return false;
+    }
+    if (source instanceof char[]) {
+      char[] chars = (char[]) source;
+      for (int i = start; i < end; i++) {
+        if (candidate.charAt(i - start) != chars[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+    if (source instanceof String) {
+      return candidate.regionMatches(0, (String) source, start, end - start);
+    }
+    CharSequence sequence = (CharSequence) source;
+    for (int i = start; i < end; i++) {
+      if (candidate.charAt(i - start) != sequence.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static String newString(Object source, int start, int end) {
+    if (source instanceof char[]) {
+      return new String((char[]) source, start, end - start);
+    }
+    return Splitter.substring((CharSequence) source, start, end);
+  }
+
+  /**
+   * An entry of a weak interner, which remembers the hash of its string to find its slot once the
+   * string has been collected.
+   */
+  private static final class WeakEntry extends WeakReference<String> {
+    final int hash;
+
+    WeakEntry(String string, int hash, ReferenceQueue<String> queue) {
+      super(string, queue);
+      this.hash = hash;
+    }
+  }
+
+  /**
+   * A lock guarding an open-addressing table with linear probing. Entries are {@link String}s for
+   * a strong interner and {@link WeakEntry}s for a weak one.
+   */
+  @SuppressWarnings("serial")
+  private static final class Segment extends ReentrantLock {
+    private final ReferenceQueue<String> queue = new ReferenceQueue<>();
+    private Object[] entries = new Object[INITIAL_SEGMENT_CAPACITY];
+    private int[] hashes = new int[INITIAL_SEGMENT_CAPACITY];
+    private int tombstones;
+    // only written with the lock held, read without it for statistics
+    volatile int size;
+    volatile long hits;
+    volatile long misses;
+
+    String intern(int h, Object source, int start, int end, boolean weak) {
+      lock();
+      try {
+        if (weak) {
+          expungeStaleEntries();
+        }
+        Object[] entries = this.entries;
+        int mask = entries.length - 1;
+        int free = -1;
+        int i = h & mask;
+        for (Object entry; (entry = entries[i]) != null; i = (i + 1) & mask) {
+          if (entry == TOMBSTONE) {
+            if (free < 0) {
+              free = i;
+            }
+          } else if (hashes[i] == h) {
+            String candidate = weak ? ((WeakEntry) entry).get() : (String) entry;
+            if (candidate != null && contentEquals(candidate, source, start, end)) {
+              hits++;
+              return candidate;
+            }
+          }
+        }
+
+        String string = newString(source, start, end);
+        if (free >= 0) {
+          i = free;
+          tombstones--;
+        }
+        entries[i] = weak ? new WeakEntry(string, h, queue) : string;
+        hashes[i] = h;
+        size++;
+        misses++;
+        if (size + tombstones > entries.length * 3 / 4) {
+          rehash(weak);
+        }
+        return string;
+      } finally {
+        unlock();
+      }
+    }
+
+    /**
+     * Replaces the entries of collected strings with tombstones.
+     */
+    private void expungeStaleEntries() {
+      for (Object reference; (reference = queue.poll()) != null; ) {
+        WeakEntry stale = (WeakEntry) reference;
+        int mask = entries.length - 1;
+        for (int i = stale.hash & mask; entries[i] != null; i = (i + 1) & mask) {
+          if (entries[i] == stale) {
+            entries[i] = TOMBSTONE;
+            tombstones++;
+            size--;
+            break;
+          }
+        }
+      }
+    }
+
+    /**
+     * Copies the live entries into a new table, twice as large if they fill more than half of the
+     * current one, dropping tombstones and the entries of collected strings.
+     */
+    private void rehash(boolean weak) {
+      Object[] oldEntries = entries;
+      int[] oldHashes = hashes;
+      int live = 0;
+      for (Object entry : oldEntries) {
+        if (entry != null && entry != TOMBSTONE && (!weak || ((WeakEntry) entry).get() != null)) {
+          live++;
+        }
+      }
+      int capacity = live * 2 > oldEntries.length ? oldEntries.length * 2 : oldEntries.length;
+      Object[] newEntries = new Object[capacity];
+      int[] newHashes = new int[capacity];
+      int mask = capacity - 1;
+      for (int j = 0; j < oldEntries.length; j++) {
+        Object entry = oldEntries[j];
+        if (entry != null && entry != TOMBSTONE && (!weak || ((WeakEntry) entry).get() != null)) {
+          int i = oldHashes[j] & mask;
+          while (newEntries[i] != null) {
+            i = (i + 1) & mask;
+          }
+          newEntries[i] = entry;
+          newHashes[i] = oldHashes[j];
+        }
+      }
+      entries = newEntries;
+      hashes = newHashes;
+      tombstones = 0;
+      size = live;
+    }
+  }
+}
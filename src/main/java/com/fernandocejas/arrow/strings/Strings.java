@@ -15,8 +15,7 @@
  */
 package com.fernandocejas.arrow.strings;
 
-import java.math.BigInteger;
-import java.util.Locale;
+import java.util.regex.Pattern;
 import org.jetbrains.annotations.Nullable;
 
 /**
@@ -50,11 +49,25 @@ public final class Strings {
   }
 
   /**
-   * @return true if the string only contains white space or if {@link #isNullOrEmpty(CharSequence)}
+   * @return true if the string only contains white space, that is characters up to and including
+   * {@code ' '} as removed by {@link String#trim()}, or if {@link #isNullOrEmpty(CharSequence)}
    * would return true; false otherwise.
    */
   public static boolean isBlank(@Nullable CharSequence string) {
-    return isNullOrEmpty(nullToEmpty(string).trim());
+    if (string == null) {
+      return true;
+    }
+    if (string instanceof String) {
+      // trim() scans the backing array, several times faster than a charAt() loop
+      return ((String) string).trim().isEmpty();
+    }
+    // the same characters trim() removes, without copying the sequence into a string first
+    for (int i = 0; i < string.length(); i++) {
+      if (string.charAt(i) > ' ') {
+        return false;
+      }
+    }
+    return true;
   }
 
   /**
@@ -69,11 +82,24 @@ public final class Strings {
   }
 
   /**
-   * Converts the given bytes to a hexidecimal strings including leading zeros.
-   * If you do not need leading zeros, you can use Java's toString(16) instead.
+   * Converts the given bytes to a lower case hexadecimal string including leading zeros.
+   *
+   * @see Hex for ranges, {@link java.nio.ByteBuffer}s, upper case digits and appending to an
+   * {@link Appendable}
    */
   public static String toHexString(byte[] bytes) {
-    return String.format(Locale.US, "%0" + (bytes.length << 1) + "x", new BigInteger(1, bytes));
+    return Hex.lowerCase().encode(bytes);
+  }
+
+  /**
+   * Converts the given hexadecimal string, in either lower or upper case, back to bytes. The
+   * inverse of {@link #toHexString(byte[])}.
+   *
+   * @throws IllegalArgumentException if {@code hex} has an odd length or contains a character
+   * which is not a hexadecimal digit
+   */
+  public static byte[] fromHexString(CharSequence hex) {
+    return Hex.decode(hex);
   }
 
   /**
@@ -90,6 +116,38 @@ public final class Strings {
     return new Joiner(String.valueOf(separator));
   }
 
+  /**
+   * Returns a splitter that uses the given single-character separator. For example, {@code
+   * Strings.splitOn(',').split("foo,,bar")} returns an iterable containing {@code ["foo", "",
+   * "bar"]}.
+   */
+  public static Splitter splitOn(char separator) {
+    return Splitter.on(separator);
+  }
+
+  /**
+   * Returns a splitter that uses the given fixed string as a separator. For example, {@code
+   * Strings.splitOn(", ").split("foo, bar,baz")} returns an iterable containing {@code ["foo",
+   * "bar,baz"]}.
+   *
+   * @throws IllegalArgumentException if {@code separator} is empty
+   */
+  public static Splitter splitOn(String separator) {
+    return Splitter.on(separator);
+  }
+
+  /**
+   * Returns a splitter that considers any subsequence matching {@code separatorPattern} to be a
+   * separator. For example, {@code
+   * Strings.splitOn(Pattern.compile("\\r?\\n")).split(entireFile)} splits a string into lines
+   * whether it uses DOS-style or UNIX-style line terminators.
+   *
+   * @throws IllegalArgumentException if {@code separatorPattern} matches the empty string
+   */
+  public static Splitter splitOn(Pattern separatorPattern) {
+    return Splitter.on(separatorPattern);
+  }
+
   private Strings() {
     // no instances
   }
@@ -0,0 +1,75 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Measures how many bytes a piece of code allocates on the Java heap per invocation, using
+ * {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}.
+ *
+ * <p>Used to guard the code paths which are garbage-free on purpose: a regression which adds even
+ * a single object allocation per call shows up as a non-zero result.
+ */
+public final class Allocations {
+
+  private static final int WARMUP_ITERATIONS = 50000;
+  private static final int ITERATIONS = 100000;
+
+  /**
+   * Returns the number of bytes allocated by a single call to {@link Runnable#run()} on {@code
+   * code}, averaged over many calls once the code has been warmed up. Skips the calling test if
+   * the running JVM is not able to track allocations per thread.
+   */
+  public static long bytesPerCall(Runnable code) {
+    com.sun.management.ThreadMXBean threadMXBean = threadMXBean();
+    long threadId = Thread.currentThread().getId();
+
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      code.run();
+    }
+
+    // the measurement itself allocates a few bytes which must not be charged to the code
+    long overhead = threadMXBean.getThreadAllocatedBytes(threadId);
+    overhead = threadMXBean.getThreadAllocatedBytes(threadId) - overhead;
+
+    long start = threadMXBean.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < ITERATIONS; i++) {
+      code.run();
+    }
+    long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - start - overhead;
+    return Math.max(0, allocated) / ITERATIONS;
+  }
+
+  private static com.sun.management.ThreadMXBean threadMXBean() {
+    ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    assumeTrue(threadMXBean instanceof com.sun.management.ThreadMXBean);
+    com.sun.management.ThreadMXBean sunThreadMXBean =
+        (com.sun.management.ThreadMXBean) threadMXBean;
+    assumeTrue(sunThreadMXBean.isThreadAllocatedMemorySupported());
+    if (!sunThreadMXBean.isThreadAllocatedMemoryEnabled()) {
+      sunThreadMXBean.setThreadAllocatedMemoryEnabled(true);
+    }
+    return sunThreadMXBean;
+  }
+
+  private Allocations() {
+    // no instances
+  }
+}
@@ -0,0 +1,118 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.checks;
+
+import com.fernandocejas.arrow.functions.Supplier;
+import org.junit.Test;
+
+import static com.fernandocejas.arrow.Allocations.bytesPerCall;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PreconditionsAllocationTest {
+
+  private final Object reference = new Object();
+  private int index = 3;
+  private int size = 10;
+  private Object result;
+  private final Supplier<String> message = new Supplier<String>() {
+    @Override
+    public String get() {
+      throw new AssertionError("message built for a passing check");
+    }
+  };
+
+  @Test
+  public void shouldNotAllocateWhenCheckNotNullPasses() {
+    assertThat(bytesPerCall(new Runnable() {
+      @Override
+      public void run() {
+        result = Preconditions.checkNotNull(reference);
+        result = Preconditions.checkNotNull(reference, "reference");
+      }
+    })).isZero();
+  }
+
+  @Test
+  public void shouldNotAllocateWhenCheckArgumentPasses() {
+    assertThat(bytesPerCall(new Runnable() {
+      @Override
+      public void run() {
+        Preconditions.checkArgument(index < size);
+        Preconditions.checkArgument(index < size, "index out of range");
+      }
+    })).isZero();
+  }
+
+  @Test
+  public void shouldNotAllocateWhenTemplatedCheckArgumentPasses() {
+    assertThat(bytesPerCall(new Runnable() {
+      @Override
+      public void run() {
+        Preconditions.checkArgument(index < size, "index (%s) out of range", index);
+        Preconditions.checkArgument(index < size, "index (%s) out of range (%s)", index, size);
+        Preconditions.checkArgument(index < size, "%s: %s", 'i', (long) size);
+        Preconditions.checkArgument(index < size, "%s %s %s %s", reference, reference, reference,
+            reference);
+      }
+    })).isZero();
+  }
+
+  @Test
+  public void shouldNotAllocateWhenTemplatedCheckStatePasses() {
+    assertThat(bytesPerCall(new Runnable() {
+      @Override
+      public void run() {
+        Preconditions.checkState(index < size, "index (%s) out of range", (long) index);
+        Preconditions.checkState(index < size, "%s (%s) out of range", reference, index);
+        Preconditions.checkState(index < size, "%s %s %s", reference, reference, reference);
+      }
+    })).isZero();
+  }
+
+  @Test
+  public void shouldNotAllocateWhenTemplatedCheckNotNullPasses() {
+    assertThat(bytesPerCall(new Runnable() {
+      @Override
+      public void run() {
+        result = Preconditions.checkNotNull(reference, "%s is null", 'r');
+        result = Preconditions.checkNotNull(reference, "%s (%s) is null", reference, size);
+      }
+    })).isZero();
+  }
+
+  @Test
+  public void shouldNotAllocateWhenSuppliedMessageCheckPasses() {
+    assertThat(bytesPerCall(new Runnable() {
+      @Override
+      public void run() {
+        Preconditions.checkArgument(index < size, message);
+        Preconditions.checkState(index < size, message);
+        result = Preconditions.checkNotNull(reference, message);
+      }
+    })).isZero();
+  }
+
+  @Test
+  public void shouldNotAllocateWhenCheckElementIndexPasses() {
+    assertThat(bytesPerCall(new Runnable() {
+      @Override
+      public void run() {
+        index = Preconditions.checkElementIndex(index, size);
+        index = Preconditions.checkElementIndex(index, size, "index");
+      }
+    })).isZero();
+  }
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.checks;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StacklessPreconditionsTest {
+
+  private final Object reference = null;
+
+  @Test
+  public void shouldFormatCharArgumentsAsPreconditionsDoes() {
+    RuntimeException expected = thrown(new Runnable() {
+      @Override
+      public void run() {
+        Preconditions.checkArgument(false, "bad char %s", 'x');
+      }
+    });
+    RuntimeException stackless = thrown(new Runnable() {
+      @Override
+      public void run() {
+        StacklessPreconditions.checkArgument(false, "bad char %s", 'x');
+      }
+    });
+
+    assertThat(stackless).isInstanceOf(IllegalArgumentException.class);
+    assertThat(stackless.getMessage()).isEqualTo(expected.getMessage()).isEqualTo("bad char x");
+    assertThat(stackless.getStackTrace()).isEmpty();
+  }
+
+  @Test
+  public void shouldFormatLongArgumentsAsPreconditionsDoes() {
+    RuntimeException expected = thrown(new Runnable() {
+      @Override
+      public void run() {
+        Preconditions.checkState(false, "%s of %s", 1L << 40, 7L);
+      }
+    });
+    RuntimeException stackless = thrown(new Runnable() {
+      @Override
+      public void run() {
+        StacklessPreconditions.checkState(false, "%s of %s", 1L << 40, 7L);
+      }
+    });
+
+    assertThat(stackless).isInstanceOf(IllegalStateException.class);
+    assertThat(stackless.getMessage()).isEqualTo(expected.getMessage())
+        .isEqualTo("1099511627776 of 7");
+    assertThat(stackless.getStackTrace()).isEmpty();
+  }
+
+  @Test
+  public void shouldFormatMixedArgumentsAsPreconditionsDoes() {
+    RuntimeException expected = thrown(new Runnable() {
+      @Override
+      public void run() {
+        Preconditions.checkArgument(false, "%s at %s", 'c', 3);
+      }
+    });
+    RuntimeException stackless = thrown(new Runnable() {
+      @Override
+      public void run() {
+        StacklessPreconditions.checkArgument(false, "%s at %s", 'c', 3);
+      }
+    });
+
+    assertThat(stackless.getMessage()).isEqualTo(expected.getMessage()).isEqualTo("c at 3");
+    assertThat(stackless.getStackTrace()).isEmpty();
+  }
+
+  @Test
+  public void shouldFormatFourArgumentsAsPreconditionsDoes() {
+    RuntimeException expected = thrown(new Runnable() {
+      @Override
+      public void run() {
+        Preconditions.checkNotNull(reference, "%s, %s, %s, %s", "a", 'b', 3L, null);
+      }
+    });
+    RuntimeException stackless = thrown(new Runnable() {
+      @Override
+      public void run() {
+        StacklessPreconditions.checkNotNull(reference, "%s, %s, %s, %s", "a", 'b', 3L, null);
+      }
+    });
+
+    assertThat(stackless).isInstanceOf(NullPointerException.class);
+    assertThat(stackless.getMessage()).isEqualTo(expected.getMessage())
+        .isEqualTo("a, b, 3, null");
+    assertThat(stackless.getStackTrace()).isEmpty();
+  }
+
+  private static RuntimeException thrown(Runnable check) {
+    try {
+      check.run();
+    } catch (RuntimeException e) {
+      return e;
+    }
+    throw new AssertionError("check passed");
+  }
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.collections;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DoubleArrayListTest {
+
+  @Test
+  public void shouldFindNaN() {
+    DoubleArrayList list = Lists.newDoubleList(1, Double.NaN, 2, Double.NaN);
+
+    assertThat(list.contains(Double.NaN)).isTrue();
+    assertThat(list.indexOf(Double.NaN)).isEqualTo(1);
+    assertThat(list.lastIndexOf(Double.NaN)).isEqualTo(3);
+    assertThat(list.asList().contains(Double.NaN)).isTrue();
+  }
+
+  @Test
+  public void shouldTellZeroFromNegativeZero() {
+    DoubleArrayList list = Lists.newDoubleList(-0.0);
+
+    assertThat(list.contains(0.0)).isFalse();
+    assertThat(list.contains(-0.0)).isTrue();
+    assertThat(list).isNotEqualTo(Lists.newDoubleList(0.0));
+    assertThat(list.hashCode()).isNotEqualTo(Lists.newDoubleList(0.0).hashCode());
+  }
+
+  @Test
+  public void shouldEqualAListWithTheSameNaN() {
+    DoubleArrayList list = Lists.newDoubleList(Double.NaN, 1);
+
+    assertThat(list).isEqualTo(Lists.newDoubleList(Double.NaN, 1));
+    assertThat(list.hashCode()).isEqualTo(Lists.newDoubleList(Double.NaN, 1).hashCode());
+  }
+
+  @Test
+  public void shouldSortAndSearchNaNAndNegativeZeroAsDoubleDoes() {
+    DoubleArrayList list = Lists.newDoubleList(Double.NaN, 0.0, 1, -0.0, -1);
+
+    list.sort();
+
+    assertThat(list.asList()).containsExactly(-1.0, -0.0, 0.0, 1.0, Double.NaN);
+    assertThat(list.binarySearch(-0.0)).isEqualTo(1);
+    assertThat(list.binarySearch(0.0)).isEqualTo(2);
+    assertThat(list.binarySearch(Double.NaN)).isEqualTo(4);
+  }
+
+  @Test
+  public void shouldHaveTheHashCodeOfTheBoxedList() {
+    DoubleArrayList list = Lists.newDoubleList(0.0, -0.0, Double.NaN, 1.5, Double.MIN_VALUE);
+    List<Double> boxed = Arrays.asList(0.0, -0.0, Double.NaN, 1.5, Double.MIN_VALUE);
+
+    assertThat(list.hashCode()).isEqualTo(boxed.hashCode());
+    assertThat(list.asList().hashCode()).isEqualTo(boxed.hashCode());
+    assertThat(list.asList()).isEqualTo(boxed);
+  }
+}
@@ -0,0 +1,144 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.collections;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+public class IntArrayListTest {
+
+  @Test(expected = ConcurrentModificationException.class)
+  public void shouldFailFastIteratingTheViewAfterAnAdd() {
+    IntArrayList list = Lists.newIntList(1, 2, 3);
+    Iterator<Integer> iterator = list.asList().iterator();
+    iterator.next();
+
+    list.add(4);
+
+    iterator.next();
+  }
+
+  @Test(expected = ConcurrentModificationException.class)
+  public void shouldFailFastIteratingTheViewAfterAnAddAll() {
+    IntArrayList list = Lists.newIntList(1, 2, 3);
+    Iterator<Integer> iterator = list.asList().iterator();
+    iterator.next();
+
+    list.addAll(new int[] {4, 5});
+
+    iterator.next();
+  }
+
+  @Test(expected = ConcurrentModificationException.class)
+  public void shouldFailFastIteratingTheViewAfterARemoval() {
+    IntArrayList list = Lists.newIntList(1, 2, 3);
+    Iterator<Integer> iterator = list.asList().iterator();
+    iterator.next();
+
+    list.removeAt(0);
+
+    iterator.next();
+  }
+
+  @Test
+  public void shouldKeepIteratingTheViewAfterRemovingThroughTheIterator() {
+    IntArrayList list = Lists.newIntList(1, 2, 3);
+    Iterator<Integer> iterator = list.asList().iterator();
+
+    iterator.next();
+    iterator.remove();
+
+    assertThat(iterator.next()).isEqualTo(2);
+    assertThat(list.toArray()).containsExactly(2, 3);
+  }
+
+  @Test
+  public void shouldAddARangeOfValues() {
+    IntArrayList list = Lists.newIntList(1);
+
+    list.addAll(new int[] {7, 8, 9, 10}, 1, 2);
+    list.addAll(new int[] {11}, 1, 0);
+
+    assertThat(list.toArray()).containsExactly(1, 8, 9);
+  }
+
+  @Test
+  public void shouldRejectARangeOutOfTheValuesAndStayUnchanged() {
+    IntArrayList list = Lists.newIntList(1, 2);
+    int[] values = {3, 4, 5};
+    int[][] ranges = {{-1, 1}, {0, -1}, {2, 2}, {4, 0}, {1, Integer.MAX_VALUE}};
+
+    for (int[] range : ranges) {
+      try {
+        list.addAll(values, range[0], range[1]);
+        failBecauseExceptionWasNotThrown(IndexOutOfBoundsException.class);
+      } catch (IndexOutOfBoundsException expected) {
+        assertThat(list.toArray()).containsExactly(1, 2);
+      }
+    }
+  }
+
+  @Test
+  public void shouldGrowWhileAddingAll() {
+    IntArrayList list = new IntArrayList(0);
+    int[] values = new int[100];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = i;
+    }
+
+    list.addAll(values);
+    list.addAll(values, 50, 50);
+    list.add(-1);
+
+    assertThat(list.size()).isEqualTo(151);
+    assertThat(list.get(99)).isEqualTo(99);
+    assertThat(list.get(100)).isEqualTo(50);
+    assertThat(list.get(149)).isEqualTo(99);
+    assertThat(list.get(150)).isEqualTo(-1);
+  }
+
+  @Test
+  public void shouldSortAndSearchOnlyTheElementsInUse() {
+    IntArrayList list = new IntArrayList(10);
+    list.addAll(new int[] {9, 1, 7, 0});
+    // leaves a stale 0 behind the last element, and 6 unused slots after it
+    list.removeAt(3);
+
+    list.sort();
+
+    assertThat(list.toArray()).containsExactly(1, 7, 9);
+    assertThat(list.binarySearch(7)).isEqualTo(1);
+    assertThat(list.binarySearch(0)).isEqualTo(-1);
+    assertThat(list.binarySearch(10)).isEqualTo(-4);
+  }
+
+  @Test
+  public void shouldHaveTheHashCodeOfTheBoxedList() {
+    IntArrayList list = Lists.newIntList(0, -1, Integer.MIN_VALUE, Integer.MAX_VALUE, 42);
+    List<Integer> boxed = Arrays.asList(0, -1, Integer.MIN_VALUE, Integer.MAX_VALUE, 42);
+
+    assertThat(list.hashCode()).isEqualTo(boxed.hashCode());
+    assertThat(list.asList().hashCode()).isEqualTo(boxed.hashCode());
+    assertThat(list.asList()).isEqualTo(boxed);
+    assertThat(list.toString()).isEqualTo(boxed.toString());
+  }
+}
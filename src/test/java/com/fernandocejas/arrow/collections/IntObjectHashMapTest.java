@@ -0,0 +1,123 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.collections;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IntObjectHashMapTest {
+
+  // new IntObjectHashMap(EXPECTED_SIZE) has a table of 32 slots
+  private static final int EXPECTED_SIZE = 16;
+  private static final int MASK = 31;
+
+  @Test
+  public void shouldFindCollidingKeysAfterRemovingOneBeforeThem() {
+    int[] colliding = collidingKeys(4);
+    IntObjectHashMap<String> map = new IntObjectHashMap<>(EXPECTED_SIZE);
+    for (int key : colliding) {
+      map.put(key, "v" + key);
+    }
+
+    assertThat(map.remove(colliding[1])).isEqualTo("v" + colliding[1]);
+
+    assertThat(map.get(colliding[0])).isEqualTo("v" + colliding[0]);
+    assertThat(map.get(colliding[1])).isNull();
+    assertThat(map.get(colliding[2])).isEqualTo("v" + colliding[2]);
+    assertThat(map.get(colliding[3])).isEqualTo("v" + colliding[3]);
+    assertThat(map.containsKey(colliding[1])).isFalse();
+    assertThat(map.remove(colliding[1])).isNull();
+    assertThat(map.size()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldMapTheZeroKey() {
+    IntObjectHashMap<String> map = new IntObjectHashMap<>(EXPECTED_SIZE);
+
+    assertThat(map.containsKey(0)).isFalse();
+    assertThat(map.put(0, "zero")).isNull();
+    assertThat(map.put(0, "nought")).isEqualTo("zero");
+
+    assertThat(map.get(0)).isEqualTo("nought");
+    assertThat(map.keys()).containsOnly(0);
+    assertThat(map.remove(0)).isEqualTo("nought");
+    assertThat(map.containsKey(0)).isFalse();
+    assertThat(map.getOrDefault(0, "none")).isEqualTo("none");
+    assertThat(map.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void shouldGrowWhilePutting() {
+    IntObjectHashMap<Integer> map = new IntObjectHashMap<>(2);
+    for (int key = -500; key < 500; key++) {
+      map.put(key * 1000003, key);
+    }
+
+    assertThat(map.size()).isEqualTo(1000);
+    for (int key = -500; key < 500; key++) {
+      assertThat(map.get(key * 1000003)).isEqualTo(key);
+    }
+    assertThat(map.get(1)).isNull();
+  }
+
+  @Test
+  public void shouldHaveTheHashCodeOfAnEqualJavaMap() {
+    int[] keys = {0, 1, -1, Integer.MIN_VALUE, Integer.MAX_VALUE, 1 << 16, 42};
+    IntObjectHashMap<String> map = new IntObjectHashMap<>();
+    Map<Integer, String> expected = new HashMap<>();
+    for (int key : keys) {
+      map.put(key, "v" + key);
+      expected.put(key, "v" + key);
+    }
+
+    assertThat(map.hashCode()).isEqualTo(expected.hashCode());
+    assertThat(map.keys()).containsOnly(keys);
+  }
+
+  @Test
+  public void shouldEqualAMapWithTheSameMappingsPutInAnotherOrder() {
+    int[] colliding = collidingKeys(4);
+    IntObjectHashMap<String> map = new IntObjectHashMap<>(EXPECTED_SIZE);
+    IntObjectHashMap<String> other = new IntObjectHashMap<>();
+    for (int i = 0; i < colliding.length; i++) {
+      map.put(colliding[i], "v" + colliding[i]);
+      other.put(colliding[colliding.length - 1 - i], "v" + colliding[colliding.length - 1 - i]);
+    }
+
+    assertThat(map).isEqualTo(other);
+    assertThat(map.hashCode()).isEqualTo(other.hashCode());
+    other.put(colliding[2], "changed");
+    assertThat(map).isNotEqualTo(other);
+  }
+
+  /**
+   * Returns {@code count} keys with the same home slot in a table of 32 slots.
+   */
+  private static int[] collidingKeys(int count) {
+    int[] keys = new int[count];
+    int home = HashTables.mix(1) & MASK;
+    int found = 0;
+    for (int key = 1; found < count; key++) {
+      if ((HashTables.mix(key) & MASK) == home) {
+        keys[found++] = key;
+      }
+    }
+    return keys;
+  }
+}
@@ -0,0 +1,67 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.collections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import org.junit.Test;
+
+import static com.fernandocejas.arrow.Allocations.bytesPerCall;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IterablesAllocationTest {
+
+  private final List<String> arrayList = new ArrayList<>(Arrays.asList("a", "b", "c"));
+  private final List<String> linkedList = new LinkedList<>(arrayList);
+  private final Object element = "d";
+  private Object result;
+  private boolean empty;
+  private int size;
+
+  @Test
+  public void shouldNotAllocateWhenQueryingArrayList() {
+    assertThat(bytesPerCall(queries(arrayList))).isZero();
+  }
+
+  @Test
+  public void shouldNotAllocateWhenQueryingLinkedList() {
+    assertThat(bytesPerCall(queries(linkedList))).isZero();
+  }
+
+  @Test
+  public void shouldNotAllocateWhenCheckElementNotNullPasses() {
+    assertThat(bytesPerCall(new Runnable() {
+      @Override
+      public void run() {
+        result = CollectPreconditions.checkElementNotNull(element, 1);
+      }
+    })).isZero();
+  }
+
+  private Runnable queries(final List<String> list) {
+    return new Runnable() {
+      @Override
+      public void run() {
+        empty = Iterables.isEmpty(list);
+        size = Iterables.size(list);
+        result = Iterables.get(list, 1);
+        result = Iterables.get(list, 5, null);
+      }
+    };
+  }
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.collections;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LongArrayListTest {
+
+  @Test(expected = ConcurrentModificationException.class)
+  public void shouldFailFastIteratingTheViewAfterAClear() {
+    LongArrayList list = Lists.newLongList(1, 2, 3);
+    Iterator<Long> iterator = list.asList().iterator();
+    iterator.next();
+
+    list.clear();
+
+    iterator.next();
+  }
+
+  @Test(expected = ConcurrentModificationException.class)
+  public void shouldFailFastIteratingTheViewAfterASort() {
+    LongArrayList list = Lists.newLongList(3, 2, 1);
+    Iterator<Long> iterator = list.asList().iterator();
+    iterator.next();
+
+    list.sort();
+
+    iterator.next();
+  }
+
+  @Test
+  public void shouldHaveTheHashCodeOfTheBoxedList() {
+    LongArrayList list = Lists.newLongList(0, -1, 1L << 32, Long.MIN_VALUE, Long.MAX_VALUE);
+    List<Long> boxed = Arrays.asList(0L, -1L, 1L << 32, Long.MIN_VALUE, Long.MAX_VALUE);
+
+    assertThat(list.hashCode()).isEqualTo(boxed.hashCode());
+    assertThat(list.asList().hashCode()).isEqualTo(boxed.hashCode());
+    assertThat(list.asList()).isEqualTo(boxed);
+  }
+}
@@ -0,0 +1,143 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.collections;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LongHashSetTest {
+
+  // new LongHashSet(EXPECTED_SIZE) has a table of 32 slots
+  private static final int EXPECTED_SIZE = 16;
+  private static final int MASK = 31;
+
+  @Test
+  public void shouldFindCollidingValuesAfterRemovingOneBeforeThem() {
+    long[] colliding = collidingValues(4);
+    LongHashSet set = new LongHashSet(EXPECTED_SIZE);
+    set.addAll(colliding);
+
+    assertThat(set.remove(colliding[1])).isTrue();
+
+    assertThat(set.contains(colliding[0])).isTrue();
+    assertThat(set.contains(colliding[1])).isFalse();
+    assertThat(set.contains(colliding[2])).isTrue();
+    assertThat(set.contains(colliding[3])).isTrue();
+    assertThat(set.remove(colliding[1])).isFalse();
+    assertThat(set.size()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldFindCollidingValuesAfterRemovingTheFirstOne() {
+    long[] colliding = collidingValues(3);
+    LongHashSet set = new LongHashSet(EXPECTED_SIZE);
+    set.addAll(colliding);
+
+    set.remove(colliding[0]);
+    set.remove(colliding[2]);
+
+    assertThat(set.contains(colliding[1])).isTrue();
+    assertThat(set.toArray()).containsOnly(colliding[1]);
+  }
+
+  @Test
+  public void shouldKeepZeroApartFromTheTable() {
+    LongHashSet set = new LongHashSet(EXPECTED_SIZE);
+
+    assertThat(set.contains(0)).isFalse();
+    assertThat(set.add(0)).isTrue();
+    assertThat(set.add(0)).isFalse();
+    set.add(1);
+
+    assertThat(set.contains(0)).isTrue();
+    assertThat(set.size()).isEqualTo(2);
+    assertThat(set.toArray()).containsOnly(0L, 1L);
+    assertThat(set.remove(0)).isTrue();
+    assertThat(set.remove(0)).isFalse();
+    assertThat(set.contains(0)).isFalse();
+    assertThat(set.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldGrowWhileAddingAll() {
+    long[] values = new long[1000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = (i % 500) * 1000003L;
+    }
+    LongHashSet set = new LongHashSet(2);
+
+    assertThat(set.addAll(values)).isTrue();
+    assertThat(set.addAll(values)).isFalse();
+
+    assertThat(set.size()).isEqualTo(500);
+    for (long value : values) {
+      assertThat(set.contains(value)).isTrue();
+    }
+    assertThat(set.contains(1)).isFalse();
+  }
+
+  @Test
+  public void shouldHaveTheHashCodeOfAnEqualJavaSet() {
+    long[] values = {0, 1, -1, Long.MIN_VALUE, Long.MAX_VALUE, 1L << 32, 42};
+    LongHashSet set = new LongHashSet();
+    set.addAll(values);
+    Set<Long> expected = new HashSet<>();
+    for (long value : values) {
+      expected.add(value);
+    }
+
+    assertThat(set.hashCode()).isEqualTo(expected.hashCode());
+    assertThat(set.toArray()).containsOnly(values);
+  }
+
+  @Test
+  public void shouldEqualASetWithTheSameValuesAddedInAnotherOrder() {
+    long[] colliding = collidingValues(4);
+    LongHashSet set = new LongHashSet(EXPECTED_SIZE);
+    set.addAll(colliding);
+    set.add(0);
+    LongHashSet other = new LongHashSet();
+    for (int i = colliding.length - 1; i >= 0; i--) {
+      other.add(colliding[i]);
+    }
+
+    assertThat(set).isNotEqualTo(other);
+    other.add(0);
+    assertThat(set).isEqualTo(other);
+    assertThat(set.hashCode()).isEqualTo(other.hashCode());
+    other.remove(colliding[2]);
+    other.add(7);
+    assertThat(set).isNotEqualTo(other);
+  }
+
+  /**
+   * Returns {@code count} nonzero values with the same home slot in a table of 32 slots.
+   */
+  private static long[] collidingValues(int count) {
+    long[] values = new long[count];
+    int home = HashTables.mix(1L) & MASK;
+    int found = 0;
+    for (long value = 1; found < count; value++) {
+      if ((HashTables.mix(value) & MASK) == home) {
+        values[found++] = value;
+      }
+    }
+    return values;
+  }
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.collections;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LongObjectHashMapTest {
+
+  // new LongObjectHashMap(EXPECTED_SIZE) has a table of 32 slots
+  private static final int EXPECTED_SIZE = 16;
+  private static final int MASK = 31;
+
+  @Test
+  public void shouldFindCollidingKeysAfterRemovingOneBeforeThem() {
+    long[] colliding = collidingKeys(4);
+    LongObjectHashMap<String> map = new LongObjectHashMap<>(EXPECTED_SIZE);
+    for (long key : colliding) {
+      map.put(key, "v" + key);
+    }
+
+    assertThat(map.remove(colliding[1])).isEqualTo("v" + colliding[1]);
+
+    assertThat(map.get(colliding[0])).isEqualTo("v" + colliding[0]);
+    assertThat(map.get(colliding[1])).isNull();
+    assertThat(map.get(colliding[2])).isEqualTo("v" + colliding[2]);
+    assertThat(map.get(colliding[3])).isEqualTo("v" + colliding[3]);
+    assertThat(map.containsKey(colliding[1])).isFalse();
+    assertThat(map.remove(colliding[1])).isNull();
+    assertThat(map.size()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldMapTheZeroKey() {
+    LongObjectHashMap<String> map = new LongObjectHashMap<>(EXPECTED_SIZE);
+
+    assertThat(map.containsKey(0)).isFalse();
+    assertThat(map.put(0, "zero")).isNull();
+    assertThat(map.put(0, "nought")).isEqualTo("zero");
+
+    assertThat(map.get(0)).isEqualTo("nought");
+    assertThat(map.keys()).containsOnly(0L);
+    assertThat(map.remove(0)).isEqualTo("nought");
+    assertThat(map.containsKey(0)).isFalse();
+    assertThat(map.getOrDefault(0, "none")).isEqualTo("none");
+    assertThat(map.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void shouldGrowWhilePutting() {
+    LongObjectHashMap<Long> map = new LongObjectHashMap<>(2);
+    for (long key = -500; key < 500; key++) {
+      map.put(key * 1000003L, key);
+    }
+
+    assertThat(map.size()).isEqualTo(1000);
+    for (long key = -500; key < 500; key++) {
+      assertThat(map.get(key * 1000003L)).isEqualTo(key);
+    }
+    assertThat(map.get(1)).isNull();
+  }
+
+  @Test
+  public void shouldHaveTheHashCodeOfAnEqualJavaMap() {
+    long[] keys = {0, 1, -1, Long.MIN_VALUE, Long.MAX_VALUE, 1L << 32, 42};
+    LongObjectHashMap<String> map = new LongObjectHashMap<>();
+    Map<Long, String> expected = new HashMap<>();
+    for (long key : keys) {
+      map.put(key, "v" + key);
+      expected.put(key, "v" + key);
+    }
+
+    assertThat(map.hashCode()).isEqualTo(expected.hashCode());
+    assertThat(map.keys()).containsOnly(keys);
+  }
+
+  @Test
+  public void shouldEqualAMapWithTheSameMappingsPutInAnotherOrder() {
+    long[] colliding = collidingKeys(4);
+    LongObjectHashMap<String> map = new LongObjectHashMap<>(EXPECTED_SIZE);
+    LongObjectHashMap<String> other = new LongObjectHashMap<>();
+    for (int i = 0; i < colliding.length; i++) {
+      map.put(colliding[i], "v" + colliding[i]);
+      other.put(colliding[colliding.length - 1 - i], "v" + colliding[colliding.length - 1 - i]);
+    }
+
+    assertThat(map).isEqualTo(other);
+    assertThat(map.hashCode()).isEqualTo(other.hashCode());
+    other.put(colliding[2], "changed");
+    assertThat(map).isNotEqualTo(other);
+  }
+
+  /**
+   * Returns {@code count} keys with the same home slot in a table of 32 slots.
+   */
+  private static long[] collidingKeys(int count) {
+    long[] keys = new long[count];
+    int home = HashTables.mix(1L) & MASK;
+    int found = 0;
+    for (long key = 1; found < count; key++) {
+      if ((HashTables.mix(key) & MASK) == home) {
+        keys[found++] = key;
+      }
+    }
+    return keys;
+  }
+}
@@ -0,0 +1,146 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.collections;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+public class OffHeapLongArrayTest {
+
+  // the number of elements in a chunk: a mapped file only takes disk space for the pages written
+  private static final long CHUNK_LENGTH = OffHeapBuffers.CHUNK_BYTES >>> 3;
+  // as many full chunks as an array of chunks holds
+  private static final long MAXIMUM_LENGTH = Integer.MAX_VALUE * CHUNK_LENGTH;
+
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void shouldReadAndWriteAcrossAChunkBoundary() throws IOException {
+    OffHeapLongArray array = OffHeapLongArray.map(temporaryFolder.newFile(), CHUNK_LENGTH + 2);
+    try {
+      array.set(CHUNK_LENGTH - 1, 1L);
+      array.set(CHUNK_LENGTH, 2L);
+      array.set(CHUNK_LENGTH + 1, -3L);
+
+      assertThat(array.length()).isEqualTo(CHUNK_LENGTH + 2);
+      assertThat(array.get(CHUNK_LENGTH - 2)).isEqualTo(0L);
+      assertThat(array.get(CHUNK_LENGTH - 1)).isEqualTo(1L);
+      assertThat(array.get(CHUNK_LENGTH)).isEqualTo(2L);
+      assertThat(array.get(CHUNK_LENGTH + 1)).isEqualTo(-3L);
+    } finally {
+      array.close();
+    }
+  }
+
+  @Test
+  public void shouldKeepWhatWasWrittenAcrossAChunkBoundaryInTheFile() throws IOException {
+    File file = temporaryFolder.newFile();
+    OffHeapLongArray array = OffHeapLongArray.map(file, CHUNK_LENGTH + 1);
+    array.set(CHUNK_LENGTH - 1, Long.MAX_VALUE);
+    array.set(CHUNK_LENGTH, Long.MIN_VALUE);
+    array.close();
+
+    OffHeapLongArray reopened = OffHeapLongArray.map(file, CHUNK_LENGTH + 1);
+    try {
+      assertThat(file.length()).isEqualTo((CHUNK_LENGTH + 1) << 3);
+      assertThat(reopened.get(CHUNK_LENGTH - 1)).isEqualTo(Long.MAX_VALUE);
+      assertThat(reopened.get(CHUNK_LENGTH)).isEqualTo(Long.MIN_VALUE);
+    } finally {
+      reopened.close();
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectALengthNeedingMoreChunksThanAnArrayHolds() {
+    OffHeapLongArray.allocateDirect(MAXIMUM_LENGTH + 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectALengthWhoseSizeInBytesOverflows() {
+    OffHeapLongArray.allocateDirect(Long.MAX_VALUE >>> 3);
+  }
+
+  @Test
+  public void shouldLeaveTheFileAloneWhenMappingALengthNeedingTooManyChunks() throws IOException {
+    File file = temporaryFolder.newFile();
+    try {
+      OffHeapLongArray.map(file, MAXIMUM_LENGTH + 1);
+      failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+    } catch (IllegalArgumentException expected) {
+      assertThat(file.length()).isZero();
+    }
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void shouldRejectAnIndexPastTheEnd() {
+    OffHeapLongArray array = OffHeapLongArray.allocateDirect(4);
+    try {
+      array.get(4);
+    } finally {
+      array.close();
+    }
+  }
+
+  @Test
+  public void shouldHaveNoLengthOnceClosed() {
+    OffHeapLongArray array = OffHeapLongArray.allocateDirect(4);
+    array.close();
+    array.close();
+
+    assertThat(array.length()).isZero();
+    assertThat(array.toString()).isEqualTo("OffHeapLongArray[closed]");
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void shouldRejectReadsOnceClosed() {
+    OffHeapLongArray array = OffHeapLongArray.allocateDirect(4);
+    array.close();
+
+    array.get(0);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void shouldRejectWritesOnceClosed() {
+    OffHeapLongArray array = OffHeapLongArray.allocateDirect(4);
+    array.close();
+
+    array.set(0, 1L);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void shouldRejectAViewOnceClosed() {
+    OffHeapLongArray array = OffHeapLongArray.allocateDirect(4);
+    array.close();
+
+    array.asList();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void shouldRejectReadsThroughAViewOnceClosed() {
+    OffHeapLongArray array = OffHeapLongArray.allocateDirect(4);
+    List<Long> list = array.asList();
+    array.close();
+
+    list.get(0);
+  }
+}
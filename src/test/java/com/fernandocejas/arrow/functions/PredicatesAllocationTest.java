@@ -0,0 +1,82 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.functions;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+import static com.fernandocejas.arrow.Allocations.bytesPerCall;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PredicatesAllocationTest {
+
+  private static final Predicate<Integer> IS_EVEN = new Predicate<Integer>() {
+    @Override
+    public boolean apply(Integer input) {
+      return (input & 1) == 0;
+    }
+  };
+
+  private static final Predicate<Integer> IS_POSITIVE = new Predicate<Integer>() {
+    @Override
+    public boolean apply(Integer input) {
+      return input > 0;
+    }
+  };
+
+  private final Integer value = 42;
+  private boolean result;
+
+  @Test
+  public void shouldNotAllocateWhenApplyingAndPredicate() {
+    final Predicate<Integer> and =
+        Predicates.and(IS_POSITIVE, IS_EVEN, Predicates.<Integer>notNull());
+
+    assertThat(bytesPerCall(new Runnable() {
+      @Override
+      public void run() {
+        result ^= and.apply(value);
+      }
+    })).isZero();
+  }
+
+  @Test
+  public void shouldNotAllocateWhenApplyingOrPredicate() {
+    final Predicate<Integer> or =
+        Predicates.or(Predicates.<Integer>isNull(), Predicates.<Integer>not(IS_EVEN), IS_POSITIVE);
+
+    assertThat(bytesPerCall(new Runnable() {
+      @Override
+      public void run() {
+        result ^= or.apply(value);
+      }
+    })).isZero();
+  }
+
+  @Test
+  public void shouldNotAllocateWhenApplyingInPredicate() {
+    List<Integer> target = Arrays.asList(1, 2, 42);
+    final Predicate<Integer> in = Predicates.in(target);
+
+    assertThat(bytesPerCall(new Runnable() {
+      @Override
+      public void run() {
+        result ^= in.apply(value);
+      }
+    })).isZero();
+  }
+}
@@ -0,0 +1,52 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.optional;
+
+import org.junit.Test;
+
+import static com.fernandocejas.arrow.Allocations.bytesPerCall;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OptionalAllocationTest {
+
+  private final Optional<String> some = Optional.of("arrow");
+  private final Optional<String> none = Optional.absent();
+  private final String defaultValue = "default";
+  private Object result;
+  private boolean present;
+
+  @Test
+  public void shouldNotAllocateWhenCheckingPresence() {
+    assertThat(bytesPerCall(new Runnable() {
+      @Override
+      public void run() {
+        present = some.isPresent() && !none.isPresent();
+      }
+    })).isZero();
+  }
+
+  @Test
+  public void shouldNotAllocateWhenFallingBackToDefaultValue() {
+    assertThat(bytesPerCall(new Runnable() {
+      @Override
+      public void run() {
+        result = some.or(defaultValue);
+        result = none.or(defaultValue);
+        result = none.or(some);
+      }
+    })).isZero();
+  }
+}
@@ -0,0 +1,145 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.strings;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+public class CharsetsTest {
+
+  private static final Charset[] DECODED_BY_HAND =
+      {Charsets.UTF_8, Charsets.US_ASCII, Charsets.ISO_8859_1};
+
+  // a 2, 3 and 4 byte sequence, and the 3 and 4 byte ones cut short
+  private static final byte[][] SEQUENCES = {
+      utf8(0xe9), utf8(0x20ac), utf8(0x1f600),
+      {(byte) 0xe2, (byte) 0x82}, {(byte) 0xf0, (byte) 0x9f, (byte) 0x98}
+  };
+
+  @Test
+  public void shouldDecodeRandomInputAsStringDoes() {
+    Random random = new Random(0);
+    for (Charset charset : DECODED_BY_HAND) {
+      for (int i = 0; i < 200; i++) {
+        byte[] bytes = randomBytes(random, random.nextInt(3 * Charsets.CHUNK_SIZE));
+        assertThat(decode(bytes, charset)).isEqualTo(new String(bytes, charset));
+      }
+    }
+  }
+
+  @Test
+  public void shouldDecodeSequencesStraddlingTheScratchArrays() {
+    for (Charset charset : DECODED_BY_HAND) {
+      for (byte[] sequence : SEQUENCES) {
+        for (int start = Charsets.CHUNK_SIZE - 4; start <= Charsets.CHUNK_SIZE; start++) {
+          ByteArrayOutputStream out = new ByteArrayOutputStream();
+          for (int i = 0; i < start; i++) {
+            out.write('a');
+          }
+          out.write(sequence, 0, sequence.length);
+          out.write('b');
+          byte[] bytes = out.toByteArray();
+
+          assertThat(decode(bytes, charset)).isEqualTo(new String(bytes, charset));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void shouldRestoreBothPositionsOnOverflow() {
+    Charset[] charsets =
+        {Charsets.UTF_8, Charsets.US_ASCII, Charsets.ISO_8859_1, Charsets.UTF_16};
+    // well-formed UTF-8 followed by a malformed sequence, which UTF-8 leaves to the JDK decoder
+    byte[][] inputs = {concat(utf8(0x41, 0xe9, 0x20ac, 0x1f600), SEQUENCES[3], utf8(0x42)),
+        concat(utf8(0x41, 0x42, 0x43, 0x44), SEQUENCES[4], utf8(0x45, 0x46))};
+    for (Charset charset : charsets) {
+      for (byte[] input : inputs) {
+        byte[] bytes = concat(new byte[] {1, 2, 3}, input);
+        int decodedLength = new String(input, charset).length();
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        in.position(3);
+        CharBuffer out = CharBuffer.allocate(2 + decodedLength - 1);
+        out.position(2);
+
+        try {
+          Charsets.decodeFrom(in, charset, out);
+          failBecauseExceptionWasNotThrown(BufferOverflowException.class);
+        } catch (BufferOverflowException expected) {
+          assertThat(in.position()).isEqualTo(3);
+          assertThat(out.position()).isEqualTo(2);
+        }
+      }
+    }
+  }
+
+  private static String decode(byte[] bytes, Charset charset) {
+    CharBuffer out = CharBuffer.allocate(bytes.length);
+    int count = Charsets.decodeFrom(ByteBuffer.wrap(bytes), charset, out);
+    assertThat(count).isEqualTo(out.position());
+    out.flip();
+    return out.toString();
+  }
+
+  /**
+   * Returns {@code length} bytes mixing ASCII, well-formed UTF-8, random bytes and cut short
+   * UTF-8 sequences.
+   */
+  private static byte[] randomBytes(Random random, int length) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(length + 4);
+    while (out.size() < length) {
+      switch (random.nextInt(4)) {
+        case 0:
+          out.write(random.nextInt(0x80));
+          break;
+        case 1:
+          byte[] sequence = utf8(random.nextInt(0x110000));
+          out.write(sequence, 0, sequence.length);
+          break;
+        case 2:
+          out.write(random.nextInt(0x100));
+          break;
+        default:
+          byte[] truncated = SEQUENCES[random.nextInt(SEQUENCES.length)];
+          out.write(truncated, 0, 1 + random.nextInt(truncated.length - 1));
+          break;
+      }
+    }
+    byte[] bytes = out.toByteArray();
+    return bytes.length == length ? bytes : Arrays.copyOf(bytes, length);
+  }
+
+  private static byte[] utf8(int... codePoints) {
+    return new String(codePoints, 0, codePoints.length).getBytes(Charsets.UTF_8);
+  }
+
+  private static byte[] concat(byte[]... arrays) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (byte[] array : arrays) {
+      out.write(array, 0, array.length);
+    }
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,355 @@
+/**
+ * Copyright (C) 2016 Fernando Cejas Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fernandocejas.arrow.strings;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+
+public class JoinerTest {
+
+  private static final char HIGH_SURROGATE = (char) 0xd83d;
+  private static final char LOW_SURROGATE = (char) 0xde00;
+
+  private static final Charset[] CHARSETS = {
+      Charsets.UTF_8, Charsets.UTF_16, Charsets.US_ASCII, Charsets.ISO_8859_1,
+      Charset.forName("Shift_JIS"), Charset.forName("windows-1252"), Charset.forName("GB18030")
+  };
+
+  private static final int PARALLELISM = 4;
+
+  /**
+   * Sizes on either side of {@link Joiner#PARALLEL_THRESHOLD} and of the sizes from which chunks
+   * grow past {@link Joiner#MIN_PARALLEL_CHUNK} with {@link #PARALLELISM} threads.
+   */
+  private static final int[] PARALLEL_SIZES = {
+      0, 1, Joiner.MIN_PARALLEL_CHUNK - 1, Joiner.MIN_PARALLEL_CHUNK,
+      Joiner.MIN_PARALLEL_CHUNK + 1, Joiner.PARALLEL_THRESHOLD - 1, Joiner.PARALLEL_THRESHOLD,
+      Joiner.PARALLEL_THRESHOLD + 1, PARALLELISM * 4 * Joiner.MIN_PARALLEL_CHUNK - 1,
+      PARALLELISM * 4 * Joiner.MIN_PARALLEL_CHUNK, PARALLELISM * 4 * Joiner.MIN_PARALLEL_CHUNK + 1,
+      100003
+  };
+
+  @Test
+  public void shouldWriteTheBytesOfTheJoinedString() throws IOException {
+    Random random = new Random(0);
+    for (int i = 0; i < 40; i++) {
+      List<String> parts = randomParts(random, random.nextInt(200));
+      for (Charset charset : CHARSETS) {
+        assertWritten(Strings.joinOn(", "), parts, charset);
+      }
+    }
+  }
+
+  @Test
+  public void shouldWriteSurrogatePairsSplitAcrossParts() throws IOException {
+    List<String> parts = Arrays.asList(
+        "a" + HIGH_SURROGATE, LOW_SURROGATE + "b", "" + HIGH_SURROGATE, "" + LOW_SURROGATE);
+
+    for (Charset charset : CHARSETS) {
+      assertWritten(Strings.joinOn(""), parts, charset);
+    }
+  }
+
+  @Test
+  public void shouldReplaceALoneHighSurrogateAtTheEnd() throws IOException {
+    List<String> parts = Arrays.asList("a", "b" + HIGH_SURROGATE);
+
+    for (Charset charset : CHARSETS) {
+      assertWritten(Strings.joinOn(""), parts, charset);
+      assertWritten(Strings.joinOn(""), Arrays.asList("" + HIGH_SURROGATE), charset);
+    }
+  }
+
+  @Test
+  public void shouldWriteReplacementsFillingTheBuffer() throws IOException {
+    // unmappable in every single byte charset, each replaced by the encoder
+    char[] unmappable = new char[20000];
+    Arrays.fill(unmappable, (char) 0x4e00);
+    List<String> parts = Arrays.asList("a", new String(unmappable), "b");
+
+    for (Charset charset : CHARSETS) {
+      assertWritten(Strings.joinOn(""), parts, charset);
+    }
+  }
+
+  @Test
+  public void shouldWriteTheCharacterAfterAReplacedSurrogateFillingTheBuffer() throws IOException {
+    for (int length = 8180; length < 8200; length++) {
+      char[] text = new char[length];
+      Arrays.fill(text, 'a');
+      // the pair puts one byte less in the buffer than characters, so that the replacement fills it
+      List<String> parts = Arrays.asList(
+          "" + HIGH_SURROGATE + LOW_SURROGATE, new String(text), HIGH_SURROGATE + "b");
+
+      for (Charset charset : CHARSETS) {
+        assertWritten(Strings.joinOn(""), parts, charset);
+      }
+    }
+  }
+
+  @Test
+  public void shouldWriteNothingForNoParts() throws IOException {
+    for (Charset charset : CHARSETS) {
+      assertWritten(Strings.joinOn(", "), new ArrayList<String>(), charset);
+    }
+  }
+
+  @Test
+  public void shouldJoinInParallelAsSequentially() {
+    ForkJoinPool pool = new ForkJoinPool(PARALLELISM);
+    try {
+      for (int size : PARALLEL_SIZES) {
+        Object[] parts = mixedParts(new Random(size), size, size / 3);
+        assertJoinedInParallel(Strings.joinOn(", ").useForNull("null"), parts, pool);
+        assertJoinedInParallel(Strings.joinOn(", ").skipNulls(), parts, pool);
+        assertJoinedInParallel(Strings.joinOn("").skipNulls(), parts, pool);
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void shouldSkipWholeChunksOfNullsInParallel() {
+    ForkJoinPool pool = new ForkJoinPool(PARALLELISM);
+    try {
+      for (int size : PARALLEL_SIZES) {
+        // the nulls fill the first chunks and, with a part left over, all but one of them
+        assertJoinedInParallel(Strings.joinOn(", ").skipNulls(),
+            mixedParts(new Random(size), size, Math.max(size - 1, 0)), pool);
+        assertJoinedInParallel(Strings.joinOn(", ").skipNulls(),
+            mixedParts(new Random(size), size, size), pool);
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void shouldRejectNullPartsInParallelWithoutNullText() {
+    ForkJoinPool pool = new ForkJoinPool(PARALLELISM);
+    try {
+      Strings.joinOn(", ").parallel(pool)
+          .join(mixedParts(new Random(0), Joiner.PARALLEL_THRESHOLD, 1));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void shouldJoinLazilyAsEagerly() {
+    List<Object> parts = Arrays.<Object>asList("ab", "", "c", null, "", "def", null);
+
+    assertJoinedLazily(Strings.joinOn(", ").skipNulls(), parts);
+    assertJoinedLazily(Strings.joinOn(", ").useForNull(""), parts);
+    assertJoinedLazily(Strings.joinOn("").skipNulls(), parts);
+    assertJoinedLazily(Strings.joinOn("").useForNull("null"), parts);
+    assertJoinedLazily(Strings.joinOn('-').useForNull("null"), parts);
+  }
+
+  @Test
+  public void shouldJoinEmptyPartsLazily() {
+    assertJoinedLazily(Strings.joinOn(", "), Arrays.<Object>asList("", "", ""));
+    assertJoinedLazily(Strings.joinOn(""), Arrays.<Object>asList("", "", ""));
+    assertJoinedLazily(Strings.joinOn(""), Arrays.<Object>asList("", "a", ""));
+    assertJoinedLazily(Strings.joinOn(", ").skipNulls(), Arrays.<Object>asList(null, "", null));
+    assertJoinedLazily(Strings.joinOn(", ").skipNulls(), Arrays.<Object>asList(null, null));
+    assertJoinedLazily(Strings.joinOn(", "), new ArrayList<Object>());
+    assertJoinedLazily(Strings.joinOn(", "), Arrays.<Object>asList("single"));
+  }
+
+  @Test
+  public void shouldJoinNestedLazyJoinsLazily() {
+    Joiner joiner = Strings.joinOn("; ").skipNulls();
+    CharSequence inner = Strings.joinOn(",").joinLazily(Arrays.asList("a", "", "bc"));
+    List<Object> parts = Arrays.<Object>asList(
+        inner, null, inner.subSequence(1, 4), new StringBuilder("xy"), 42, inner.subSequence(2, 2));
+
+    assertJoinedLazily(joiner, parts);
+    assertJoinedLazily(Strings.joinOn(""),
+        Arrays.<Object>asList(joiner.joinLazily(parts), "", joiner.joinLazily(parts)));
+  }
+
+  @Test
+  public void shouldRejectIndexesOutsideTheLazyJoin() {
+    CharSequence joined = Strings.joinOn(", ").joinLazily(Arrays.asList("ab", "c"));
+    CharSequence[] views = { joined, joined.subSequence(1, 3), Strings.joinOn(", ").joinLazily(
+        new ArrayList<Object>()) };
+
+    for (CharSequence view : views) {
+      try {
+        view.charAt(view.length());
+        failBecauseExceptionWasNotThrown(IndexOutOfBoundsException.class);
+      } catch (IndexOutOfBoundsException expected) {
+        // expected
+      }
+      try {
+        view.charAt(-1);
+        failBecauseExceptionWasNotThrown(IndexOutOfBoundsException.class);
+      } catch (IndexOutOfBoundsException expected) {
+        // expected
+      }
+      try {
+        view.subSequence(0, view.length() + 1);
+        failBecauseExceptionWasNotThrown(IndexOutOfBoundsException.class);
+      } catch (IndexOutOfBoundsException expected) {
+        // expected
+      }
+    }
+  }
+
+  private static void assertWritten(Joiner joiner, List<String> parts, Charset charset)
+      throws IOException {
+    byte[] expected = joiner.join(parts).getBytes(charset);
+
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    joiner.writeTo(stream, charset, parts);
+    assertThat(stream.toByteArray()).as(charset.name()).isEqualTo(expected);
+
+    ByteArrayOutputStream channel = new ByteArrayOutputStream();
+    joiner.writeTo(Channels.newChannel(channel), charset, parts.iterator());
+    assertThat(channel.toByteArray()).as(charset.name()).isEqualTo(expected);
+  }
+
+  /**
+   * Checks that {@code joiner} joins {@code parts} the same in {@code pool} as sequentially, for an
+   * array and for a list of them.
+   */
+  private static void assertJoinedInParallel(Joiner joiner, Object[] parts, ForkJoinPool pool) {
+    String expected = joiner.join(parts);
+    Joiner parallel = joiner.parallel(pool);
+
+    assertThat(parallel.join(parts)).as("array of %s", parts.length).isEqualTo(expected);
+    assertThat(parallel.join(Arrays.asList(parts)))
+        .as("list of %s", parts.length)
+        .isEqualTo(expected);
+  }
+
+  /**
+   * Returns {@code size} parts of several types, the first {@code nulls} of them null and a few of
+   * the others empty.
+   */
+  private static Object[] mixedParts(Random random, int size, int nulls) {
+    Object[] parts = new Object[size];
+    for (int i = nulls; i < size; i++) {
+      switch (random.nextInt(6)) {
+        case 0:
+          parts[i] = "";
+          break;
+        case 1:
+          parts[i] = random.nextInt();
+          break;
+        case 2:
+          parts[i] = new StringBuilder("builder ").append(i);
+          break;
+        case 3:
+          parts[i] = Strings.joinOn('-').joinLazily(Arrays.asList("lazy", i, ""));
+          break;
+        case 4:
+          parts[i] = random.nextInt(4) == 0 ? null : "part " + i;
+          break;
+        default:
+          parts[i] = "" + (char) ('a' + random.nextInt(26));
+          break;
+      }
+    }
+    return parts;
+  }
+
+  /**
+   * Checks {@code length()}, {@code charAt} and {@code subSequence} of the lazy join of {@code
+   * parts} against their eager join, for every range and every range within each range.
+   */
+  private static void assertJoinedLazily(Joiner joiner, List<Object> parts) {
+    String expected = joiner.join(parts);
+
+    assertSameText(joiner.joinLazily(parts), expected);
+    assertSameText(joiner.joinLazily(parts.iterator()), expected);
+    assertSameText(joiner.joinLazily(parts.toArray()), expected);
+
+    CharSequence joined = joiner.joinLazily(parts);
+    for (int start = 0; start <= expected.length(); start++) {
+      for (int end = start; end <= expected.length(); end++) {
+        CharSequence range = joined.subSequence(start, end);
+        String expectedRange = expected.substring(start, end);
+        assertSameText(range, expectedRange);
+        for (int i = 0; i <= expectedRange.length(); i++) {
+          assertThat(range.subSequence(i, expectedRange.length()).toString())
+              .isEqualTo(expectedRange.substring(i));
+          assertThat(range.subSequence(0, i).toString()).isEqualTo(expectedRange.substring(0, i));
+        }
+      }
+    }
+  }
+
+  /**
+   * Checks {@code text} against {@code expected} character by character, then as a whole when
+   * converted and when appended, which takes different paths through a lazy join.
+   */
+  private static void assertSameText(CharSequence text, String expected) {
+    assertThat(text.length()).isEqualTo(expected.length());
+    for (int i = 0; i < expected.length(); i++) {
+      assertThat(text.charAt(i)).as("charAt(%s) of %s", i, expected).isEqualTo(expected.charAt(i));
+    }
+    assertThat(new StringBuilder().append(text).toString()).isEqualTo(expected);
+    assertThat(Strings.joinOn("").join(Arrays.asList(text))).isEqualTo(expected);
+    assertThat(text.toString()).isEqualTo(expected);
+  }
+
+  /**
+   * Returns {@code count} parts mixing ASCII, Latin-1, CJK, surrogate pairs and lone surrogates,
+   * some of them long enough to fill the buffers of the encoders.
+   */
+  private static List<String> randomParts(Random random, int count) {
+    List<String> parts = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      int length = random.nextInt(10) == 0 ? random.nextInt(10000) : random.nextInt(20);
+      StringBuilder part = new StringBuilder(length);
+      for (int j = 0; j < length; j++) {
+        switch (random.nextInt(6)) {
+          case 0:
+            part.append((char) (0x80 + random.nextInt(0x80)));
+            break;
+          case 1:
+            part.append((char) (0x4e00 + random.nextInt(0x5000)));
+            break;
+          case 2:
+            part.appendCodePoint(0x10000 + random.nextInt(0x100000));
+            break;
+          case 3:
+            part.append((char) (0xd800 + random.nextInt(0x800)));
+            break;
+          default:
+            part.append((char) random.nextInt(0x80));
+            break;
+        }
+      }
+      parts.add(part.toString());
+    }
+    return parts;
+  }
+}